@@ -0,0 +1,27 @@
+package com.github.mrzhqiang.helper.benchmark;
+
+import com.github.mrzhqiang.helper.awt.Colors;
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.Color;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 颜色解析基准测试。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ColorsBenchmark {
+
+    @Param({"255,128,0", "255,128,0,64", "#FF8000", "0xFF8000", "ORANGE", "not a color"})
+    public String color;
+
+    @Benchmark
+    public Color of() {
+        return Colors.of(color);
+    }
+}
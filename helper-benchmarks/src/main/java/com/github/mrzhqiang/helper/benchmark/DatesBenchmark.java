@@ -0,0 +1,97 @@
+package com.github.mrzhqiang.helper.benchmark;
+
+import com.github.mrzhqiang.helper.time.DateTimes;
+import com.github.mrzhqiang.helper.time.Dates;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 日期时间格式化与解析基准测试。
+ * <p>
+ * 解析的输入分为本地格式、HTTP 格式以及无效格式三类，无效格式会经过完整的失败与回退路径。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DatesBenchmark {
+
+    @Param({"2022-08-12 18:14:30", "Fri, 12 Aug 2022 10:14:30 GMT", "not a date"})
+    public String source;
+
+    private Date date;
+    private Instant instant;
+    private Instant baseline;
+    private long[] feed;
+
+    @Setup
+    public void setUp() {
+        date = new Date(1660299270000L);
+        instant = date.toInstant();
+        baseline = instant.plusSeconds(3600);
+        // 一页 200 条动态，每条间隔 7 分钟
+        feed = new long[200];
+        for (int i = 0; i < feed.length; i++) {
+            feed[i] = baseline.toEpochMilli() - i * 420_000L;
+        }
+    }
+
+    @Benchmark
+    public String format() {
+        return Dates.format(date);
+    }
+
+    @Benchmark
+    public String formatHTTP() {
+        return Dates.formatHTTP(date);
+    }
+
+    @Benchmark
+    public Date parse() {
+        return Dates.parse(source);
+    }
+
+    @Benchmark
+    public long parseMillis() {
+        return Dates.parseMillis(source);
+    }
+
+    @Benchmark
+    public Date parseHTTP() {
+        return Dates.parseHTTP(source);
+    }
+
+    @Benchmark
+    public String untilNow() {
+        return Dates.untilNow(date);
+    }
+
+    @Benchmark
+    public String localFormat() {
+        return DateTimes.localFormat(instant);
+    }
+
+    @Benchmark
+    public String timeAgo() {
+        return DateTimes.timeAgo(baseline, instant);
+    }
+
+    @Benchmark
+    public String[] timeAgoFeed() {
+        String[] result = new String[feed.length];
+        for (int i = 0; i < feed.length; i++) {
+            result[i] = DateTimes.timeAgo(baseline, Instant.ofEpochMilli(feed[i]));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public String[] rendererFeed() {
+        return DateTimes.renderer(baseline).render(feed);
+    }
+}
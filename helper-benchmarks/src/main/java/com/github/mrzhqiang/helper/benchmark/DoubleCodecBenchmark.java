@@ -0,0 +1,70 @@
+package com.github.mrzhqiang.helper.benchmark;
+
+import com.github.mrzhqiang.helper.math.DoubleCodec;
+import com.github.mrzhqiang.helper.math.Numbers;
+import com.github.mrzhqiang.helper.uppc.UppcHelper;
+import org.openjdk.jmh.annotations.*;
+
+import java.text.DecimalFormat;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 浮点数格式化与解析基准测试。
+ * <p>
+ * 以经纬度坐标为例，对比 JDK 的 Double.toString、DecimalFormat 以及 Double.parseDouble。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DoubleCodecBenchmark {
+
+    @Param({"116.397128", "39.90419989999999", "1.0E-7"})
+    public String text;
+
+    private double value;
+    private char[] buffer;
+
+    @Setup
+    public void setUp() {
+        value = Double.parseDouble(text);
+        buffer = new char[DoubleCodec.MAX_LENGTH];
+    }
+
+    @Benchmark
+    public String jdkToString() {
+        return Double.toString(value);
+    }
+
+    @Benchmark
+    public String codecToString() {
+        return DoubleCodec.toString(value);
+    }
+
+    @Benchmark
+    public int codecFormatInto() {
+        return DoubleCodec.format(value, buffer, 0);
+    }
+
+    @Benchmark
+    public String decimalFormat9() {
+        return new DecimalFormat("###0.000000000").format(value);
+    }
+
+    @Benchmark
+    public String doubleFormat9() {
+        return UppcHelper.doubleFormat9(value);
+    }
+
+    @Benchmark
+    public double jdkParse() {
+        return Double.parseDouble(text);
+    }
+
+    @Benchmark
+    public double ofDouble() {
+        return Numbers.ofDouble(text);
+    }
+}
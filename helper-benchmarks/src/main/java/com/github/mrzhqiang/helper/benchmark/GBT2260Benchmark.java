@@ -0,0 +1,33 @@
+package com.github.mrzhqiang.helper.benchmark;
+
+import com.github.mrzhqiang.helper.gbt.GBT2260;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 行政区划代码基准测试。
+ * <p>
+ * 输入覆盖省级、地级、直辖市下辖区县以及省直辖县级行政单位。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GBT2260Benchmark {
+
+    @Param({"430000", "430100", "430102", "110101", "429004"})
+    public String code;
+
+    @Benchmark
+    public String findParentCode() {
+        return GBT2260.findParentCode(code);
+    }
+
+    @Benchmark
+    public String findLevel() {
+        return GBT2260.findLevel(code);
+    }
+}
@@ -0,0 +1,71 @@
+package com.github.mrzhqiang.helper.benchmark;
+
+import com.github.mrzhqiang.helper.IdGenerator;
+import com.github.mrzhqiang.helper.StripedIdGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ID 生成器基准测试。
+ * <p>
+ * 默认单线程运行，带有 Contended 后缀的方法固定 32 个线程竞争同一个实例。
+ * 其他线程数可以通过命令行参数调整，比如：
+ * <pre>
+ *   java -jar target/benchmarks.jar IdGeneratorBenchmark.nextId -t 8
+ * </pre>
+ * 注意：单个 {@link IdGenerator} 每毫秒最多生成 4096 个 ID，因此单实例吞吐量的上限约为每秒 409 万个。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IdGeneratorBenchmark {
+
+    private IdGenerator generator;
+    private StripedIdGenerator striped;
+
+    @Setup
+    public void setUp() {
+        generator = new IdGenerator(1, 1);
+        striped = StripedIdGenerator.ofWorkers(8, 1, 8);
+    }
+
+    @State(Scope.Thread)
+    public static class Batch {
+        @Param({"64", "4096"})
+        public int size;
+
+        long[] ids;
+
+        @Setup
+        public void setUp() {
+            ids = new long[size];
+        }
+    }
+
+    @Benchmark
+    public long nextId() {
+        return generator.nextId();
+    }
+
+    @Benchmark
+    @Threads(32)
+    public long nextIdContended() {
+        return generator.nextId();
+    }
+
+    @Benchmark
+    @Threads(32)
+    public long stripedNextIdContended() {
+        return striped.nextId();
+    }
+
+    @Benchmark
+    public long[] nextIds(Batch batch) {
+        generator.nextIds(batch.ids);
+        return batch.ids;
+    }
+}
@@ -0,0 +1,26 @@
+package com.github.mrzhqiang.helper.benchmark;
+
+import com.github.mrzhqiang.helper.Networks;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 网络地址校验基准测试。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NetworksBenchmark {
+
+    @Param({"192.168.1.1", "255.255.255.255", "256.1.1.1", "localhost"})
+    public String address;
+
+    @Benchmark
+    public boolean isAddressV4() {
+        return Networks.isAddressV4(address);
+    }
+}
@@ -0,0 +1,59 @@
+package com.github.mrzhqiang.helper.benchmark;
+
+import com.github.mrzhqiang.helper.math.Numbers;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 数字解析基准测试。
+ * <p>
+ * 输入包含合法数字、超出范围的数字以及非法字符串，后两者在 JDK 解析器中会触发异常路径。
+ * <p>
+ * ofIntBytes 模拟直接在 CSV 行的字节上解析某一列。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NumbersBenchmark {
+
+    @Param({"42", "-1234567", "3.1415926", "99999999999999999999", "abc", ""})
+    public String number;
+
+    private byte[] line;
+
+    @Setup
+    public void setUp() {
+        line = ("id," + number + ",end").getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public int ofInt() {
+        return Numbers.ofInt(number);
+    }
+
+    @Benchmark
+    public long ofLong() {
+        return Numbers.ofLong(number);
+    }
+
+    @Benchmark
+    public double ofDouble() {
+        return Numbers.ofDouble(number);
+    }
+
+    @Benchmark
+    public BigDecimal ofBigDecimal() {
+        return Numbers.ofBigDecimal(number);
+    }
+
+    @Benchmark
+    public int ofIntBytes() {
+        return Numbers.ofInt(line, 3, line.length - 7, 0);
+    }
+}
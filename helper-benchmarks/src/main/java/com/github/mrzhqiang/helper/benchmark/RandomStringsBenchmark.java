@@ -0,0 +1,59 @@
+package com.github.mrzhqiang.helper.benchmark;
+
+import com.github.mrzhqiang.helper.random.RandomStrings;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 随机字符串基准测试。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RandomStringsBenchmark {
+
+    @Param({"6", "32", "128"})
+    public int length;
+
+    private char[] dest;
+
+    @Setup
+    public void setUp() {
+        dest = new char[length];
+    }
+
+    @Benchmark
+    public String ofLength() {
+        return RandomStrings.ofLength(length);
+    }
+
+    @Benchmark
+    public char[] ofLengthInto() {
+        RandomStrings.ofLength(dest, 0, length);
+        return dest;
+    }
+
+    @Benchmark
+    public String ofNumber() {
+        return RandomStrings.ofNumber(length);
+    }
+
+    @Benchmark
+    public String ofLowerCase() {
+        return RandomStrings.ofLowerCase(length);
+    }
+
+    @Benchmark
+    public String ofChinese() {
+        return RandomStrings.ofChinese(length);
+    }
+
+    @Benchmark
+    public String ofCustom() {
+        return RandomStrings.ofCustom(RandomStrings.NUMBER, length);
+    }
+}
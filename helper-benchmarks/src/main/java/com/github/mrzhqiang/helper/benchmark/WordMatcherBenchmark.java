@@ -0,0 +1,58 @@
+package com.github.mrzhqiang.helper.benchmark;
+
+import com.github.mrzhqiang.helper.random.RandomStrings;
+import com.github.mrzhqiang.helper.text.WordMatcher;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 多模式匹配基准测试，与逐个词语调用 String.contains 对比。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WordMatcherBenchmark {
+
+    @Param({"1000", "20000"})
+    public int words;
+
+    private List<String> list;
+    private WordMatcher matcher;
+    private String message;
+
+    @Setup
+    public void setup() {
+        list = new ArrayList<>(words);
+        for (int i = 0; i < words; i++) {
+            list.add(RandomStrings.ofChinese(2 + i % 3));
+        }
+        matcher = WordMatcher.of(list);
+        message = RandomStrings.ofChinese(120);
+    }
+
+    @Benchmark
+    public boolean containsLoop() {
+        for (String word : list) {
+            if (message.contains(word)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Benchmark
+    public boolean contains() {
+        return matcher.contains(message);
+    }
+
+    @Benchmark
+    public String mask() {
+        return matcher.mask(message);
+    }
+}
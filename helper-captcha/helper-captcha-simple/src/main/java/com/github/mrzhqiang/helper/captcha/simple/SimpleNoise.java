@@ -2,6 +2,7 @@ package com.github.mrzhqiang.helper.captcha.simple;
 
 import com.github.mrzhqiang.helper.awt.Colors;
 import com.github.mrzhqiang.helper.captcha.Noise;
+import com.github.mrzhqiang.helper.random.SecureTokens;
 import com.google.common.base.Preconditions;
 
 import java.awt.*;
@@ -9,8 +10,6 @@ import java.awt.geom.CubicCurve2D;
 import java.awt.geom.PathIterator;
 import java.awt.geom.Point2D;
 import java.awt.image.BufferedImage;
-import java.security.SecureRandom;
-import java.util.Random;
 
 import static java.awt.RenderingHints.KEY_ANTIALIASING;
 import static java.awt.RenderingHints.VALUE_ANTIALIAS_ON;
@@ -24,13 +23,12 @@ final class SimpleNoise implements Noise {
         int width = image.getWidth();
         int height = image.getHeight();
 
-        Random random = new SecureRandom();
         // the curve from where the points are taken
         CubicCurve2D cc = new CubicCurve2D.Float(
-                width * factor1, height * random.nextFloat(),
-                width * factor2, height * random.nextFloat(),
-                width * factor3, height * random.nextFloat(),
-                width * factor4, height * random.nextFloat());
+                width * factor1, height * SecureTokens.nextFloat(),
+                width * factor2, height * SecureTokens.nextFloat(),
+                width * factor3, height * SecureTokens.nextFloat(),
+                width * factor4, height * SecureTokens.nextFloat());
 
         // creates an iterator to define the boundary of the flattened curve
         PathIterator pi = cc.getPathIterator(null, 2);
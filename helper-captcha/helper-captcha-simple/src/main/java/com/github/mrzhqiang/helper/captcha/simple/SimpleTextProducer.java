@@ -2,12 +2,9 @@ package com.github.mrzhqiang.helper.captcha.simple;
 
 import com.github.mrzhqiang.helper.captcha.TextProducer;
 import com.github.mrzhqiang.helper.math.Numbers;
-import com.github.mrzhqiang.helper.random.RandomStrings;
+import com.github.mrzhqiang.helper.random.SecureTokens;
 import com.google.common.base.Strings;
 
-import java.security.SecureRandom;
-import java.util.Random;
-
 final class SimpleTextProducer implements TextProducer {
 
     @Override
@@ -16,14 +13,8 @@ final class SimpleTextProducer implements TextProducer {
         int length = Numbers.ofPositiveInt(charLength, 5);
         String str = SimpleConfig.Text.STRING;
         if (Strings.isNullOrEmpty(str)) {
-            return RandomStrings.ofCustom(TextProducer.DEFAULT_TEXT, length);
-        }
-
-        Random random = new SecureRandom();
-        StringBuilder builder = new StringBuilder();
-        for (int i = 0; i < length; i++) {
-            builder.append(str.charAt(random.nextInt(str.length())));
+            return SecureTokens.ofCustom(TextProducer.DEFAULT_TEXT, length);
         }
-        return builder.toString();
+        return SecureTokens.ofCustom(str, length);
     }
 }
@@ -4,14 +4,13 @@ import com.github.mrzhqiang.helper.awt.Colors;
 import com.github.mrzhqiang.helper.awt.Fonts;
 import com.github.mrzhqiang.helper.captcha.WordRenderer;
 import com.github.mrzhqiang.helper.math.Numbers;
+import com.github.mrzhqiang.helper.random.SecureTokens;
 import com.google.common.base.Preconditions;
 
 import java.awt.*;
 import java.awt.font.FontRenderContext;
 import java.awt.font.GlyphVector;
 import java.awt.image.BufferedImage;
-import java.security.SecureRandom;
-import java.util.Random;
 
 import static java.awt.RenderingHints.*;
 import static java.awt.image.BufferedImage.TYPE_INT_ARGB;
@@ -44,9 +43,8 @@ final class SimpleWordRenderer implements WordRenderer {
         int[] charWidths = new int[wordChars.length];
         int widthNeeded = 0;
         FontRenderContext frc = g2D.getFontRenderContext();
-        Random random = new SecureRandom();
         for (int i = 0; i < wordChars.length; i++) {
-            chosenFonts[i] = fonts[random.nextInt(fonts.length)];
+            chosenFonts[i] = fonts[SecureTokens.nextInt(fonts.length)];
             char[] charToDraw = new char[]{wordChars[i]};
             GlyphVector gv = chosenFonts[i].createGlyphVector(frc, charToDraw);
             charWidths[i] = (int) gv.getVisualBounds().getWidth();
@@ -32,4 +32,18 @@ public final class DataAccessException extends RuntimeException {
   public DataAccessException(String message, Throwable cause) {
     super(message, cause);
   }
+
+  /**
+   * 消息 + 异常原因构造器，可以选择不填充堆栈。
+   * <p>
+   * 不填充堆栈时，只能通过异常原因的堆栈定位问题，但构造异常不再需要遍历调用栈，
+   * 适合数据库故障期间大量抛出异常的场景。
+   *
+   * @param message 消息字符串。
+   * @param cause 异常原因。
+   * @param writableStackTrace 是否填充堆栈。
+   */
+  public DataAccessException(String message, Throwable cause, boolean writableStackTrace) {
+    super(message, cause, true, writableStackTrace);
+  }
 }
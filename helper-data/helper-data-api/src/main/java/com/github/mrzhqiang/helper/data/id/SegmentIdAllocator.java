@@ -0,0 +1,169 @@
+package com.github.mrzhqiang.helper.data.id;
+
+import com.github.mrzhqiang.helper.data.DataAccessException;
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 号段 ID 分配器。
+ * <p>
+ * 参考美团 Leaf 的号段模式：每次从 {@link SegmentSource} 申请一整段 ID，然后在内存中逐个分配，
+ * 只有号段用尽时才需要再次访问持久化的计数器。
+ * <p>
+ * 采用双缓冲：当前号段消耗到一定比例（默认 20%）时，在后台线程预先加载下一个号段，
+ * 当前号段用尽时直接切换，分配过程基本不会等待网络往返。
+ * <p>
+ * 分配的 ID 在整个系统内唯一且稠密，但多个进程共享计数器时，不保证全局严格递增。
+ *
+ * @author mrzhqiang
+ */
+public final class SegmentIdAllocator {
+
+    /**
+     * 默认的预加载比例。
+     */
+    public static final double DEFAULT_PRELOAD_RATIO = 0.2;
+
+    private static final ExecutorService LOADER = Executors.newCachedThreadPool(
+            new ThreadFactoryBuilder().setNameFormat("segment-loader-%d").setDaemon(true).build());
+
+    private final SegmentSource source;
+    private final int step;
+    private final long preloadOffset;
+    private final Executor executor;
+
+    private volatile Segment current;
+    private final AtomicReference<CompletableFuture<Segment>> next = new AtomicReference<>();
+
+    /**
+     * 使用默认预加载比例以及内置的后台线程池。
+     *
+     * @param source 号段来源。
+     * @param step   号段步长，即每次申请的 ID 数量。
+     */
+    public SegmentIdAllocator(SegmentSource source, int step) {
+        this(source, step, DEFAULT_PRELOAD_RATIO, LOADER);
+    }
+
+    /**
+     * @param source       号段来源。
+     * @param step         号段步长，即每次申请的 ID 数量。
+     * @param preloadRatio 当前号段消耗到此比例时，开始预加载下一个号段，范围 [0, 1)。
+     * @param executor     执行预加载的线程池。
+     */
+    public SegmentIdAllocator(SegmentSource source, int step, double preloadRatio, Executor executor) {
+        Preconditions.checkNotNull(source, "source == null");
+        Preconditions.checkArgument(step > 0, "step %s must be > 0.", step);
+        Preconditions.checkArgument(preloadRatio >= 0 && preloadRatio < 1,
+                "preloadRatio %s must be in [0, 1).", preloadRatio);
+        Preconditions.checkNotNull(executor, "executor == null");
+
+        this.source = source;
+        this.step = step;
+        this.preloadOffset = (long) (step * preloadRatio);
+        this.executor = executor;
+    }
+
+    /**
+     * 分配下一个 ID。
+     *
+     * @return 下一个 ID 值。
+     * @throws DataAccessException 号段加载失败时抛出。
+     */
+    public long nextId() {
+        for (; ; ) {
+            Segment segment = current;
+            if (segment == null) {
+                segment = switchSegment(null);
+            }
+            long id = segment.cursor.getAndIncrement();
+            if (id <= segment.max) {
+                if (id - segment.min == preloadOffset) {
+                    // 恰好消耗到预加载位置的线程负责触发，不需要额外的竞争
+                    preload();
+                }
+                return id;
+            }
+            switchSegment(segment);
+        }
+    }
+
+    /**
+     * 号段步长。
+     */
+    public int step() {
+        return step;
+    }
+
+    private void preload() {
+        CompletableFuture<Segment> future = new CompletableFuture<>();
+        if (next.compareAndSet(null, future)) {
+            try {
+                executor.execute(() -> {
+                    try {
+                        future.complete(load());
+                    } catch (Throwable e) {
+                        future.completeExceptionally(e);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // 线程池拒绝执行时放弃预加载，切换号段时改为同步加载
+                next.compareAndSet(future, null);
+            }
+        }
+    }
+
+    /*
+     * 当前号段用尽时，切换到预加载的号段；如果还没有预加载，则同步加载。
+     */
+    private synchronized Segment switchSegment(Segment exhausted) {
+        Segment segment = current;
+        if (segment != exhausted) {
+            // 其他线程已经完成切换
+            return segment;
+        }
+        CompletableFuture<Segment> future = next.getAndSet(null);
+        try {
+            segment = future != null ? future.join() : load();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof DataAccessException) {
+                throw (DataAccessException) cause;
+            }
+            throw new DataAccessException("segment load failed.", cause);
+        }
+        current = segment;
+        return segment;
+    }
+
+    private Segment load() {
+        long max;
+        try {
+            max = source.incrementBy(step);
+        } catch (Exception e) {
+            throw new DataAccessException("segment load failed.", e);
+        }
+        return new Segment(max - step + 1, max);
+    }
+
+    private static final class Segment {
+        final long min;
+        final long max;
+        final AtomicLong cursor;
+
+        Segment(long min, long max) {
+            this.min = min;
+            this.max = max;
+            this.cursor = new AtomicLong(min);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.github.mrzhqiang.helper.data.id;
+
+/**
+ * 号段来源。
+ * <p>
+ * 通常是一个持久化的计数器，比如 Redis 的 INCRBY 键，或者数据库中的号段表。
+ *
+ * @author mrzhqiang
+ */
+@FunctionalInterface
+public interface SegmentSource {
+
+    /**
+     * 原子地将计数器增加指定步长，并返回增加后的值。
+     * <p>
+     * 返回值为 max 时，调用方获得的号段是 (max - step, max]。
+     *
+     * @param step 步长，大于 0。
+     * @return 增加后的计数器值。
+     */
+    long incrementBy(int step);
+}
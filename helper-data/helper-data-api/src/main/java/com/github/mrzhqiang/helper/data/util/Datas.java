@@ -2,9 +2,13 @@ package com.github.mrzhqiang.helper.data.util;
 
 import com.github.mrzhqiang.helper.data.DataAccessException;
 import com.google.common.base.Preconditions;
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
 
 import javax.annotation.Nullable;
+import java.util.Locale;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -12,6 +16,14 @@ import java.util.function.Supplier;
 
 /**
  * 数据库工具。
+ * <p>
+ * 关于异常堆栈：
+ * <p>
+ * 包装底层异常时，默认创建带有完整堆栈的 {@link DataAccessException}。数据库故障期间每次调用都会失败，
+ * 填充堆栈本身就会占满 CPU，此时可以通过配置 data.exception.trace 或者 {@link #traceMode(TraceMode, int)}
+ * 切换为不填充堆栈，或者按调用位置采样，每个调用位置每 N 次失败才保留一次完整堆栈。
+ * <p>
+ * 调用位置以传入的 Lambda 类型区分，每个 Lambda 表达式都有独立的类型，获取它不需要遍历调用栈。
  *
  * @author qiang.zhang
  */
@@ -24,6 +36,61 @@ public final class Datas {
     private static final int DEFAULT_MIN_PAGE_SIZE = 10;
     private static final int DEFAULT_MAX_PAGE_SIZE = 2000;
 
+    private static final Config CONFIG = ConfigFactory.load().getConfig("data.exception");
+
+    /**
+     * 每个调用位置的失败次数。
+     */
+    private static final ClassValue<AtomicLong> FAILURES = new ClassValue<AtomicLong>() {
+        @Override
+        protected AtomicLong computeValue(Class<?> type) {
+            return new AtomicLong();
+        }
+    };
+
+    private static volatile TraceMode traceMode =
+            TraceMode.valueOf(CONFIG.getString("trace").toUpperCase(Locale.ROOT));
+    private static volatile int sampleRate = checkSampleRate(CONFIG.getInt("sample-rate"));
+
+    /**
+     * 异常堆栈模式。
+     */
+    public enum TraceMode {
+        /**
+         * 完整堆栈。
+         */
+        FULL,
+        /**
+         * 不填充堆栈，只保留异常原因。
+         */
+        STACKLESS,
+        /**
+         * 按调用位置采样，每 N 次失败保留一次完整堆栈，其余不填充堆栈。
+         */
+        SAMPLED
+    }
+
+    /**
+     * 切换异常堆栈模式。
+     *
+     * @param mode       堆栈模式。
+     * @param sampleRate 采样间隔，仅在 {@link TraceMode#SAMPLED} 模式下生效，必须大于 0。
+     */
+    public static void traceMode(TraceMode mode, int sampleRate) {
+        Preconditions.checkNotNull(mode, "mode == null");
+        Datas.sampleRate = checkSampleRate(sampleRate);
+        Datas.traceMode = mode;
+    }
+
+    /**
+     * 当前的异常堆栈模式。
+     *
+     * @return 堆栈模式。
+     */
+    public static TraceMode traceMode() {
+        return traceMode;
+    }
+
     /**
      * 计算页面编号。
      *
@@ -84,7 +151,7 @@ public final class Datas {
         try {
             return predicate.test(target);
         } catch (Exception e) {
-            throw new DataAccessException("data check failed.", e);
+            throw failure("data check failed.", e, predicate);
         }
     }
 
@@ -101,7 +168,7 @@ public final class Datas {
         try {
             return Objects.requireNonNull(supplier.get());
         } catch (Exception e) {
-            throw new DataAccessException("data get failed.", e);
+            throw failure("data get failed.", e, supplier);
         }
     }
 
@@ -119,7 +186,7 @@ public final class Datas {
         try {
             consumer.accept(target);
         } catch (Exception e) {
-            throw new DataAccessException("data accept failed.", e);
+            throw failure("data accept failed.", e, consumer);
         }
     }
 
@@ -140,7 +207,25 @@ public final class Datas {
         try {
             return function.apply(input);
         } catch (Exception e) {
-            throw new DataAccessException("data apply failed.", e);
+            throw failure("data apply failed.", e, function);
+        }
+    }
+
+    private static int checkSampleRate(int sampleRate) {
+        Preconditions.checkArgument(sampleRate > 0, "sampleRate %s must be > 0.", sampleRate);
+        return sampleRate;
+    }
+
+    private static DataAccessException failure(String message, Exception cause, Object callSite) {
+        switch (traceMode) {
+            case STACKLESS:
+                return new DataAccessException(message, cause, false);
+            case SAMPLED:
+                // 每个调用位置的第一次失败总是保留完整堆栈
+                long count = FAILURES.get(callSite.getClass()).getAndIncrement();
+                return new DataAccessException(message, cause, count % sampleRate == 0);
+            default:
+                return new DataAccessException(message, cause);
         }
     }
 }
@@ -0,0 +1,108 @@
+package com.github.mrzhqiang.helper.data.id;
+
+import com.github.mrzhqiang.helper.data.DataAccessException;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+public class SegmentIdAllocatorTest {
+
+    @Test
+    public void nextIdDense() {
+        AtomicLong counter = new AtomicLong();
+        AtomicInteger loads = new AtomicInteger();
+        SegmentIdAllocator allocator = new SegmentIdAllocator(step -> {
+            loads.incrementAndGet();
+            return counter.addAndGet(step);
+        }, 100, 0.2, Runnable::run);
+
+        for (long i = 1; i <= 1000; i++) {
+            assertEquals(i, allocator.nextId());
+        }
+        // 每 100 个 ID 访问一次计数器，外加最后一段的预加载
+        assertEquals(11, loads.get());
+    }
+
+    @Test
+    public void nextIdUniqueUnderContention() throws Exception {
+        AtomicLong counter = new AtomicLong();
+        SegmentIdAllocator allocator = new SegmentIdAllocator(counter::addAndGet, 1000);
+
+        int threads = 8;
+        int perThread = 50_000;
+        long[] all = new long[threads * perThread];
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            int offset = t * perThread;
+            executor.execute(() -> {
+                try {
+                    for (int i = 0; i < perThread; i++) {
+                        all[offset + i] = allocator.nextId();
+                    }
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        assertTrue(done.await(1, TimeUnit.MINUTES));
+        executor.shutdown();
+
+        Arrays.sort(all);
+        for (int i = 1; i < all.length; i++) {
+            assertNotEquals(all[i - 1], all[i]);
+        }
+    }
+
+    @Test(expected = DataAccessException.class)
+    public void loadFailed() {
+        SegmentIdAllocator allocator = new SegmentIdAllocator(step -> {
+            throw new IllegalStateException("counter unavailable");
+        }, 10);
+        allocator.nextId();
+    }
+
+    @Test
+    public void preloadRejected() {
+        AtomicLong counter = new AtomicLong();
+        SegmentIdAllocator allocator = new SegmentIdAllocator(counter::addAndGet, 10, 0.2, command -> {
+            throw new RejectedExecutionException("pool is shut down");
+        });
+
+        for (long i = 1; i <= 100; i++) {
+            assertEquals(i, allocator.nextId());
+        }
+    }
+
+    @Test
+    public void preloadFailed() {
+        IllegalStateException failure = new IllegalStateException("counter unavailable");
+        AtomicLong counter = new AtomicLong();
+        SegmentIdAllocator allocator = new SegmentIdAllocator(step -> {
+            if (counter.get() > 0) {
+                throw failure;
+            }
+            return counter.addAndGet(step);
+        }, 10, 0.2, Runnable::run);
+
+        for (long i = 1; i <= 10; i++) {
+            assertEquals(i, allocator.nextId());
+        }
+        try {
+            allocator.nextId();
+            fail();
+        } catch (DataAccessException e) {
+            // 预加载失败的异常直接抛出，不再重复包装
+            assertSame(failure, e.getCause());
+        }
+    }
+}
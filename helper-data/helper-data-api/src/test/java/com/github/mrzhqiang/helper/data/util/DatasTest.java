@@ -0,0 +1,64 @@
+package com.github.mrzhqiang.helper.data.util;
+
+import com.github.mrzhqiang.helper.data.DataAccessException;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.function.Supplier;
+
+import static org.junit.Assert.*;
+
+public class DatasTest {
+
+    @After
+    public void tearDown() {
+        Datas.traceMode(Datas.TraceMode.FULL, 100);
+    }
+
+    @Test
+    public void full() {
+        assertEquals(Datas.TraceMode.FULL, Datas.traceMode());
+        DataAccessException exception = fail(() -> {
+            throw new IllegalStateException("down");
+        });
+        assertTrue(exception.getStackTrace().length > 0);
+        assertTrue(exception.getCause() instanceof IllegalStateException);
+    }
+
+    @Test
+    public void stackless() {
+        Datas.traceMode(Datas.TraceMode.STACKLESS, 1);
+        DataAccessException exception = fail(() -> {
+            throw new IllegalStateException("down");
+        });
+        assertEquals(0, exception.getStackTrace().length);
+        assertEquals("data get failed.", exception.getMessage());
+        assertTrue(exception.getCause().getStackTrace().length > 0);
+    }
+
+    @Test
+    public void sampled() {
+        Datas.traceMode(Datas.TraceMode.SAMPLED, 3);
+        Supplier<Object> supplier = () -> {
+            throw new IllegalStateException("down");
+        };
+        int full = 0;
+        for (int i = 0; i < 9; i++) {
+            if (fail(supplier).getStackTrace().length > 0) {
+                full++;
+            }
+        }
+        assertEquals(3, full);
+        // 其他调用位置单独计数，第一次失败总是保留完整堆栈
+        assertTrue(fail(() -> null).getStackTrace().length > 0);
+    }
+
+    private static DataAccessException fail(Supplier<Object> supplier) {
+        try {
+            Datas.get(supplier);
+        } catch (DataAccessException e) {
+            return e;
+        }
+        throw new AssertionError("expected DataAccessException");
+    }
+}
@@ -1,13 +1,17 @@
 package com.github.mrzhqiang.helper.data.redis;
 
+import com.github.mrzhqiang.helper.data.DataAccessException;
 import com.github.mrzhqiang.helper.data.domain.Page;
 import com.github.mrzhqiang.helper.data.domain.PageRequest;
 import com.github.mrzhqiang.helper.data.domain.Pageable;
 import com.github.mrzhqiang.helper.data.domain.Paging;
+import com.github.mrzhqiang.helper.data.id.SegmentIdAllocator;
 import com.github.mrzhqiang.helper.data.util.Datas;
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import com.google.common.collect.Lists;
 import lombok.extern.slf4j.Slf4j;
 import redis.clients.jedis.Response;
@@ -27,6 +31,9 @@ public abstract class SimpleRedisRepository<T extends RedisEntity> implements Re
 
     private final Class<T> entityClass;
     private final String keyspace;
+    private final Supplier<SegmentIdAllocator> idAllocator = Suppliers.memoize(() ->
+            new SegmentIdAllocator(step -> redis().find(jedis -> jedis.incrBy(key(KEY_NEXT_ID), step))
+                    .orElseThrow(() -> new DataAccessException("redis incrBy failed.")), idStep()));
 
     /**
      * 由实体类型构造的 Redis 仓库。
@@ -44,6 +51,38 @@ public abstract class SimpleRedisRepository<T extends RedisEntity> implements Re
 
     public abstract Redis redis();
 
+    /**
+     * 实体 ID 的号段步长。
+     * <p>
+     * 默认为 1，即每保存一个新实体，执行一次 INCR 命令获取 ID。
+     * <p>
+     * 子类返回大于 1 的值时，将通过 {@link SegmentIdAllocator} 每次从同一个键申请一整段 ID，
+     * 在内存中分配，并在后台预加载下一段，批量保存时不再需要每个实体一次网络往返。
+     * 代价是进程重启时，未分配完的号段会被跳过。
+     *
+     * @return 号段步长。
+     */
+    protected int idStep() {
+        return 1;
+    }
+
+    /**
+     * 获取下一个实体 ID。
+     *
+     * @return 可选的 ID 值，如果 Redis 不可用，则返回 {@link Optional#empty()}。
+     */
+    protected Optional<Long> nextId() {
+        if (idStep() <= 1) {
+            return redis().find(jedis -> jedis.incr(key(KEY_NEXT_ID)));
+        }
+        try {
+            return Optional.of(idAllocator.get().nextId());
+        } catch (DataAccessException e) {
+            log.error("Next entity id failed.", e);
+            return Optional.empty();
+        }
+    }
+
     @Override
     public String key(String id) {
         Preconditions.checkArgument(!Strings.isNullOrEmpty(id), "id == null or empty");
@@ -207,7 +246,7 @@ public abstract class SimpleRedisRepository<T extends RedisEntity> implements Re
         log.debug("Save entity: {}", entity);
         String id = entity.id;
         if (Strings.isNullOrEmpty(id)) {
-            Optional<Long> nextId = redis().find(jedis -> jedis.incr(key(KEY_NEXT_ID)));
+            Optional<Long> nextId = nextId();
             if (!nextId.isPresent()) {
                 return null;
             }
@@ -6,9 +6,15 @@ import com.google.common.base.Strings;
 import javax.annotation.Nullable;
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
 
 /**
  * Java 的类工具。
@@ -21,6 +27,23 @@ public final class Classes {
     /** URL protocol for a file in the file system: "file". */
     public static final String URL_PROTOCOL_FILE = "file";
 
+    /**
+     * 无法生成实例的类名称，生成实例时直接返回 Null。
+     */
+    private static final Supplier<Object> MISSING = () -> null;
+    private static final Object NONE = new Object();
+    private static final MethodType CONSTRUCTOR = MethodType.methodType(void.class);
+    private static final MethodType FACTORY = MethodType.methodType(Object.class);
+
+    /**
+     * 类名称对应的实例工厂，不存在或无法访问的类也会缓存下来，避免每次都查找并吞掉异常。
+     */
+    private static final ConcurrentMap<String, Supplier<Object>> FACTORIES = new ConcurrentHashMap<>();
+    /**
+     * 类名称对应的共享实例。
+     */
+    private static final ConcurrentMap<String, Object> SINGLETONS = new ConcurrentHashMap<>();
+
     /**
      * 从类名称生成类实例。
      *
@@ -35,6 +58,9 @@ public final class Classes {
 
     /**
      * 从类名称生成类实例。
+     * <p>
+     * 每个类名称只查找一次公开的无参构造函数，之后通过缓存的方法句柄生成实例；
+     * 类不存在或者无法访问的结果同样会被缓存，此后直接返回默认实例。
      *
      * @param className       类的全限定名称，即包括完整包名的类路径。
      * @param defaultInstance 默认实例。如果类名称为 Null 或空串，以及生成实例失败，则返回此默认实例。
@@ -47,11 +73,53 @@ public final class Classes {
             return defaultInstance;
         }
 
+        Object instance = FACTORIES.computeIfAbsent(className, Classes::factory).get();
+        return instance != null ? (T) instance : defaultInstance;
+    }
+
+    /**
+     * 从类名称获取共享的类实例。
+     * <p>
+     * 每个类名称只生成一次实例，之后总是返回同一个实例，适用于无状态的组件；
+     * 如果生成实例失败，此后也总是返回默认实例。
+     *
+     * @param className       类的全限定名称，即包括完整包名的类路径。
+     * @param defaultInstance 默认实例。如果类名称为 Null 或空串，以及生成实例失败，则返回此默认实例。
+     * @param <T>             指定类型，通过泛型消除强制转换，有可能导致转换异常，使用者需要注意类型是否一致。
+     * @return 共享的类实例。此方法是否返回 Null 值由默认值决定。
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T ofSingleton(String className, T defaultInstance) {
+        if (Strings.isNullOrEmpty(className)) {
+            return defaultInstance;
+        }
+
+        Object instance = SINGLETONS.computeIfAbsent(className, name -> {
+            Object created = FACTORIES.computeIfAbsent(name, Classes::factory).get();
+            return created != null ? created : NONE;
+        });
+        return instance != NONE ? (T) instance : defaultInstance;
+    }
+
+    private static Supplier<Object> factory(String className) {
+        MethodHandle constructor;
         try {
-            return (T) Class.forName(className).newInstance();
+            Class<?> type = Class.forName(className);
+            // 与 Class.newInstance 一样，只允许公开类的公开无参构造函数
+            constructor = MethodHandles.publicLookup().findConstructor(type, CONSTRUCTOR).asType(FACTORY);
         } catch (Exception ignored) {
+            return MISSING;
         }
-        return defaultInstance;
+        return () -> {
+            try {
+                return (Object) constructor.invokeExact();
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable ignored) {
+                // 构造函数抛出异常时，与之前一样返回默认实例
+                return null;
+            }
+        };
     }
 
     /**
@@ -1,7 +1,5 @@
 package com.github.mrzhqiang.helper;
 
-import com.google.common.base.Throwables;
-
 import javax.annotation.Nullable;
 import java.util.Optional;
 
@@ -53,15 +51,14 @@ public final class Exceptions {
      * <p>
      * 工具类只做纯粹的事情，是否处于调试模式，由调用方判断。
      * <p>
-     * 为了方便持久化，将限制此方法返回的字符串长度。
+     * 为了方便持久化，将限制此方法返回的字符串长度，达到长度上限后不再继续输出堆栈帧。
      *
      * @param exception 异常实例。
      * @return 异常痕迹堆栈信息。
      */
     public static String ofTrace(@Nullable Exception exception) {
         return Optional.ofNullable(exception)
-                .map(Throwables::getStackTraceAsString)
-                .map(it -> it.substring(0, Math.min(MAX_TRACE_LENGTH, it.length())))
+                .map(it -> StackTraces.of(it, MAX_TRACE_LENGTH))
                 .orElse(UNKNOWN_MESSAGE);
     }
 }
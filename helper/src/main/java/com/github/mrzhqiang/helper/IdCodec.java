@@ -0,0 +1,357 @@
+package com.github.mrzhqiang.helper;
+
+import com.google.common.base.Preconditions;
+
+import java.util.Arrays;
+
+/**
+ * {@link IdGenerator} 生成的 ID 编解码工具。
+ * <p>
+ * 提供两种紧凑的字符串编码：
+ * <pre>
+ * Base62：      0-9A-Za-z，固定 11 位
+ * Crockford 32：0-9A-Z 去掉 I L O U，固定 13 位
+ * </pre>
+ * 两种编码都是定长并按照 ASCII 顺序排列字母表，因此编码后的字符串与原始 ID 的大小顺序一致，
+ * 可以直接作为 URL 或 Redis 键使用，不会打乱时间顺序。
+ * <p>
+ * 编码方法可以写入调用方提供的 char[] 或 byte[]，解码方法可以读取 CharSequence、char[] 或 byte[] 的指定区间，
+ * 整个过程不产生中间对象。
+ * <p>
+ * 另外还可以解析 ID 中的时间戳、数据中心编号、工作机器序号以及序列号，或者将时间区间转为 ID 区间，
+ * 以便通过主键范围扫描来完成按时间的查询。
+ */
+public final class IdCodec {
+    private IdCodec() {
+        // no instances
+    }
+
+    /**
+     * Base62 编码的固定长度。62^11 > 2^63，足以容纳任意非负 long 值。
+     */
+    public static final int BASE62_LENGTH = 11;
+    /**
+     * Crockford Base32 编码的固定长度。13 * 5 = 65 位，足以容纳任意非负 long 值。
+     */
+    public static final int BASE32_LENGTH = 13;
+
+    private static final char[] BASE62_ALPHABET =
+            "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz".toCharArray();
+    private static final char[] BASE32_ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+
+    private static final byte[] BASE62_DECODE = new byte[128];
+    private static final byte[] BASE32_DECODE = new byte[128];
+
+    static {
+        Arrays.fill(BASE62_DECODE, (byte) -1);
+        for (int i = 0; i < BASE62_ALPHABET.length; i++) {
+            BASE62_DECODE[BASE62_ALPHABET[i]] = (byte) i;
+        }
+        Arrays.fill(BASE32_DECODE, (byte) -1);
+        for (int i = 0; i < BASE32_ALPHABET.length; i++) {
+            char c = BASE32_ALPHABET[i];
+            BASE32_DECODE[c] = (byte) i;
+            BASE32_DECODE[Character.toLowerCase(c)] = (byte) i;
+        }
+        // Crockford 规范：容易混淆的字母按照对应的数字解码
+        BASE32_DECODE['O'] = BASE32_DECODE['o'] = 0;
+        BASE32_DECODE['I'] = BASE32_DECODE['i'] = 1;
+        BASE32_DECODE['L'] = BASE32_DECODE['l'] = 1;
+    }
+
+    /**
+     * 将 ID 编码为 Base62 字符串。
+     *
+     * @param id 非负的 ID 值。
+     * @return 长度为 {@link #BASE62_LENGTH} 的字符串。
+     */
+    public static String toBase62(long id) {
+        char[] chars = new char[BASE62_LENGTH];
+        encodeBase62(id, chars, 0);
+        return new String(chars);
+    }
+
+    /**
+     * 将 ID 以 Base62 编码写入字符数组。
+     *
+     * @param id     非负的 ID 值。
+     * @param dest   目标数组，从 offset 开始至少需要 {@link #BASE62_LENGTH} 个位置。
+     * @param offset 写入的起始位置。
+     * @return 写入的字符数量，即 {@link #BASE62_LENGTH}。
+     */
+    public static int encodeBase62(long id, char[] dest, int offset) {
+        checkEncode(id, dest == null ? -1 : dest.length, offset, BASE62_LENGTH);
+        for (int i = offset + BASE62_LENGTH - 1; i >= offset; i--) {
+            dest[i] = BASE62_ALPHABET[(int) (id % 62)];
+            id /= 62;
+        }
+        return BASE62_LENGTH;
+    }
+
+    /**
+     * 将 ID 以 Base62 编码写入字节数组，每个字符占用一个 ASCII 字节。
+     *
+     * @param id     非负的 ID 值。
+     * @param dest   目标数组，从 offset 开始至少需要 {@link #BASE62_LENGTH} 个位置。
+     * @param offset 写入的起始位置。
+     * @return 写入的字节数量，即 {@link #BASE62_LENGTH}。
+     */
+    public static int encodeBase62(long id, byte[] dest, int offset) {
+        checkEncode(id, dest == null ? -1 : dest.length, offset, BASE62_LENGTH);
+        for (int i = offset + BASE62_LENGTH - 1; i >= offset; i--) {
+            dest[i] = (byte) BASE62_ALPHABET[(int) (id % 62)];
+            id /= 62;
+        }
+        return BASE62_LENGTH;
+    }
+
+    /**
+     * 解码 Base62 字符串。
+     *
+     * @param source Base62 字符串，长度不超过 {@link #BASE62_LENGTH}。
+     * @return ID 值。
+     * @throws IllegalArgumentException 包含非法字符或超出 long 范围。
+     */
+    public static long fromBase62(CharSequence source) {
+        Preconditions.checkNotNull(source, "source == null");
+        return decodeBase62(source, 0, source.length());
+    }
+
+    /**
+     * 解码字符序列指定区间内的 Base62 编码。
+     *
+     * @param source 字符序列。
+     * @param offset 起始位置。
+     * @param length 长度，不超过 {@link #BASE62_LENGTH}。
+     * @return ID 值。
+     */
+    public static long decodeBase62(CharSequence source, int offset, int length) {
+        checkDecode(source == null ? -1 : source.length(), offset, length, BASE62_LENGTH);
+        long id = 0;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            id = appendBase62(id, source.charAt(i));
+        }
+        return id;
+    }
+
+    /**
+     * 解码字符数组指定区间内的 Base62 编码。
+     *
+     * @see #decodeBase62(CharSequence, int, int)
+     */
+    public static long decodeBase62(char[] source, int offset, int length) {
+        checkDecode(source == null ? -1 : source.length, offset, length, BASE62_LENGTH);
+        long id = 0;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            id = appendBase62(id, source[i]);
+        }
+        return id;
+    }
+
+    /**
+     * 解码字节数组指定区间内的 Base62 编码，每个字节视为一个 ASCII 字符。
+     *
+     * @see #decodeBase62(CharSequence, int, int)
+     */
+    public static long decodeBase62(byte[] source, int offset, int length) {
+        checkDecode(source == null ? -1 : source.length, offset, length, BASE62_LENGTH);
+        long id = 0;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            id = appendBase62(id, (char) (source[i] & 0xFF));
+        }
+        return id;
+    }
+
+    /**
+     * 将 ID 编码为 Crockford Base32 字符串。
+     *
+     * @param id 非负的 ID 值。
+     * @return 长度为 {@link #BASE32_LENGTH} 的大写字符串。
+     */
+    public static String toBase32(long id) {
+        char[] chars = new char[BASE32_LENGTH];
+        encodeBase32(id, chars, 0);
+        return new String(chars);
+    }
+
+    /**
+     * 将 ID 以 Crockford Base32 编码写入字符数组。
+     *
+     * @param id     非负的 ID 值。
+     * @param dest   目标数组，从 offset 开始至少需要 {@link #BASE32_LENGTH} 个位置。
+     * @param offset 写入的起始位置。
+     * @return 写入的字符数量，即 {@link #BASE32_LENGTH}。
+     */
+    public static int encodeBase32(long id, char[] dest, int offset) {
+        checkEncode(id, dest == null ? -1 : dest.length, offset, BASE32_LENGTH);
+        for (int i = offset + BASE32_LENGTH - 1; i >= offset; i--) {
+            dest[i] = BASE32_ALPHABET[(int) (id & 0x1F)];
+            id >>>= 5;
+        }
+        return BASE32_LENGTH;
+    }
+
+    /**
+     * 将 ID 以 Crockford Base32 编码写入字节数组，每个字符占用一个 ASCII 字节。
+     *
+     * @param id     非负的 ID 值。
+     * @param dest   目标数组，从 offset 开始至少需要 {@link #BASE32_LENGTH} 个位置。
+     * @param offset 写入的起始位置。
+     * @return 写入的字节数量，即 {@link #BASE32_LENGTH}。
+     */
+    public static int encodeBase32(long id, byte[] dest, int offset) {
+        checkEncode(id, dest == null ? -1 : dest.length, offset, BASE32_LENGTH);
+        for (int i = offset + BASE32_LENGTH - 1; i >= offset; i--) {
+            dest[i] = (byte) BASE32_ALPHABET[(int) (id & 0x1F)];
+            id >>>= 5;
+        }
+        return BASE32_LENGTH;
+    }
+
+    /**
+     * 解码 Crockford Base32 字符串。
+     * <p>
+     * 不区分大小写，并且按照规范将 O 视为 0，将 I、L 视为 1。
+     *
+     * @param source Base32 字符串，长度不超过 {@link #BASE32_LENGTH}。
+     * @return ID 值。
+     * @throws IllegalArgumentException 包含非法字符或超出 long 范围。
+     */
+    public static long fromBase32(CharSequence source) {
+        Preconditions.checkNotNull(source, "source == null");
+        return decodeBase32(source, 0, source.length());
+    }
+
+    /**
+     * 解码字符序列指定区间内的 Crockford Base32 编码。
+     *
+     * @param source 字符序列。
+     * @param offset 起始位置。
+     * @param length 长度，不超过 {@link #BASE32_LENGTH}。
+     * @return ID 值。
+     */
+    public static long decodeBase32(CharSequence source, int offset, int length) {
+        checkDecode(source == null ? -1 : source.length(), offset, length, BASE32_LENGTH);
+        long id = 0;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            id = appendBase32(id, source.charAt(i));
+        }
+        return id;
+    }
+
+    /**
+     * 解码字符数组指定区间内的 Crockford Base32 编码。
+     *
+     * @see #decodeBase32(CharSequence, int, int)
+     */
+    public static long decodeBase32(char[] source, int offset, int length) {
+        checkDecode(source == null ? -1 : source.length, offset, length, BASE32_LENGTH);
+        long id = 0;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            id = appendBase32(id, source[i]);
+        }
+        return id;
+    }
+
+    /**
+     * 解码字节数组指定区间内的 Crockford Base32 编码，每个字节视为一个 ASCII 字符。
+     *
+     * @see #decodeBase32(CharSequence, int, int)
+     */
+    public static long decodeBase32(byte[] source, int offset, int length) {
+        checkDecode(source == null ? -1 : source.length, offset, length, BASE32_LENGTH);
+        long id = 0;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            id = appendBase32(id, (char) (source[i] & 0xFF));
+        }
+        return id;
+    }
+
+    /**
+     * 解析 ID 的生成时间。
+     *
+     * @param id ID 值。
+     * @return 生成时的毫秒时间戳（Unix 纪元）。
+     */
+    public static long timestamp(long id) {
+        return (id >>> IdGenerator.TIMESTAMP_LEFT_SHIFT) + IdGenerator.TWEPOCH;
+    }
+
+    /**
+     * 解析 ID 的数据中心编号。
+     */
+    public static long datacenterId(long id) {
+        return (id >>> IdGenerator.DATACENTER_ID_SHIFT) & IdGenerator.MAX_DATACENTER_ID;
+    }
+
+    /**
+     * 解析 ID 的工作机器序号。
+     */
+    public static long workerId(long id) {
+        return (id >>> IdGenerator.WORKER_ID_SHIFT) & IdGenerator.MAX_WORKER_ID;
+    }
+
+    /**
+     * 解析 ID 在当前毫秒内的序列号。
+     */
+    public static long sequence(long id) {
+        return id & IdGenerator.SEQUENCE_MASK;
+    }
+
+    /**
+     * 指定毫秒内可能生成的最小 ID。
+     * <p>
+     * 与 {@link #maxId(long)} 配合，可以将时间区间 [from, to] 转为 ID 区间 [minId(from), maxId(to)]，
+     * 从而使用主键范围扫描代替按时间字段的查询。
+     *
+     * @param epochMillis 毫秒时间戳（Unix 纪元），不能早于 ID 生成器的起始时间。
+     * @return 最小 ID 值。
+     */
+    public static long minId(long epochMillis) {
+        checkTimestamp(epochMillis);
+        return (epochMillis - IdGenerator.TWEPOCH) << IdGenerator.TIMESTAMP_LEFT_SHIFT;
+    }
+
+    /**
+     * 指定毫秒内可能生成的最大 ID。
+     *
+     * @param epochMillis 毫秒时间戳（Unix 纪元），不能早于 ID 生成器的起始时间。
+     * @return 最大 ID 值。
+     * @see #minId(long)
+     */
+    public static long maxId(long epochMillis) {
+        return minId(epochMillis) | ~(-1L << IdGenerator.TIMESTAMP_LEFT_SHIFT);
+    }
+
+    private static long appendBase62(long id, char c) {
+        int digit = c < 128 ? BASE62_DECODE[c] : -1;
+        Preconditions.checkArgument(digit >= 0, "illegal base62 char: %s", c);
+        Preconditions.checkArgument(id <= (Long.MAX_VALUE - digit) / 62, "base62 value overflow");
+        return id * 62 + digit;
+    }
+
+    private static long appendBase32(long id, char c) {
+        int digit = c < 128 ? BASE32_DECODE[c] : -1;
+        Preconditions.checkArgument(digit >= 0, "illegal base32 char: %s", c);
+        Preconditions.checkArgument(id >>> 58 == 0, "base32 value overflow");
+        return (id << 5) | digit;
+    }
+
+    private static void checkEncode(long id, int capacity, int offset, int length) {
+        Preconditions.checkArgument(id >= 0, "id %s must be >= 0.", id);
+        Preconditions.checkArgument(capacity >= 0, "dest == null");
+        Preconditions.checkPositionIndexes(offset, offset + length, capacity);
+    }
+
+    private static void checkDecode(int capacity, int offset, int length, int maxLength) {
+        Preconditions.checkArgument(capacity >= 0, "source == null");
+        Preconditions.checkArgument(length > 0 && length <= maxLength,
+                "length %s must be in [1, %s].", length, maxLength);
+        Preconditions.checkPositionIndexes(offset, offset + length, capacity);
+    }
+
+    private static void checkTimestamp(long epochMillis) {
+        Preconditions.checkArgument(epochMillis >= IdGenerator.TWEPOCH,
+                "epochMillis %s must be >= %s.", epochMillis, IdGenerator.TWEPOCH);
+    }
+}
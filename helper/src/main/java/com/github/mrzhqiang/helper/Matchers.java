@@ -29,8 +29,10 @@ public final class Matchers {
     public static final CharMatcher LETTER = LOWERCASE.or(UPPERCASE);
     /**
      * 纯大小写字母 + 纯数字匹配器。
+     * <p>
+     * 预计算为位表，匹配时不需要逐个判断组合条件。
      */
-    public static final CharMatcher LETTER_OR_DIGIT = LETTER.or(DIGIT);
+    public static final CharMatcher LETTER_OR_DIGIT = LETTER.or(DIGIT).precomputed();
     /**
      * 逗号匹配器。
      */
@@ -42,13 +42,10 @@ public final class Networks {
             return false;
         }
 
-        for (String section : Splitters.DOT.split(address)) {
-            try {
-                int i = Integer.parseInt(section);
-                if (i < 0 || i > 255) {
-                    return false;
-                }
-            } catch (Exception ignored) {
+        SpanSplitter.Cursor cursor = SpanSplitter.DOT.split(address);
+        while (cursor.next()) {
+            int i = cursor.toInt(-1);
+            if (i < 0 || i > 255) {
                 return false;
             }
         }
@@ -1,10 +1,10 @@
 package com.github.mrzhqiang.helper;
 
 import com.github.mrzhqiang.helper.random.RandomStrings;
+import com.github.mrzhqiang.helper.time.CoarseClock;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
 
-import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Objects;
 
@@ -52,28 +52,34 @@ public final class Sequences {
      * 基础日期序列。
      * <p>
      * 比如：20220812
+     * <p>
+     * 读取 {@link CoarseClock} 缓存的字符串，最多落后一个刷新间隔。
      *
      * @return 日期序列字符串。
      */
     public static String ofBasicDate() {
-        return LocalDateTime.now().format(DateTimeFormatter.BASIC_ISO_DATE);
+        return CoarseClock.basicDate();
     }
 
     /**
      * 基础日期时间序列。
      * <p>
-     * 比如：202208121814。
+     * 比如：20220812181420。
+     * <p>
+     * 读取 {@link CoarseClock} 缓存的字符串，最多落后一个刷新间隔。
      *
      * @return 日期时间序列字符串。
      */
     public static String ofBasicDateTime() {
-        return LocalDateTime.now().format(BASIC_DATE_TIME);
+        return CoarseClock.basicDateTime();
     }
 
     /**
      * 通过指定字符串生成 UID 序列的方法。
      * <p>
      * 比如：3425101。
+     * <p>
+     * 注意：此方法生成的 UID 存在碰撞的可能，如果需要保证唯一，请使用 {@link UidGenerator}。
      *
      * @param source 指定字符串，不能为 null 值。
      * @return uid 序列。
@@ -0,0 +1,375 @@
+package com.github.mrzhqiang.helper;
+
+import com.github.mrzhqiang.helper.math.Numbers;
+import com.github.mrzhqiang.helper.text.CommonSymbols;
+import com.google.common.base.CharMatcher;
+import com.google.common.base.Preconditions;
+
+import javax.annotation.Nullable;
+
+/**
+ * 区间分离器。
+ * <p>
+ * {@link Splitters} 中的分离器每次都会创建子串，而很多调用者拿到子串之后只是为了解析数字。
+ * 此分离器不创建子串，而是通过可复用的 {@link Cursor 游标} 依次给出每一段的起止位置，
+ * 配合 {@link Numbers} 的区间解析方法，复用游标或者通过 splitToInts 分离一行数字时不分配任何对象。
+ * 例外是十六进制浮点数以及超过 19 位有效数字的浮点数，这些少见的内容需要创建字符串交给 JDK 解析。
+ * <p>
+ * 裁减空白以及忽略空串的规则与 Guava 的 {@link com.google.common.base.Splitter Splitter} 一致；
+ * 对于 byte[]，只裁减 ASCII 空白字符，避免误伤 UTF-8 的多字节字符。
+ * <pre>
+ *   SpanSplitter.Cursor cursor = SpanSplitter.COMMA.cursor();
+ *   cursor.reset(line);
+ *   while (cursor.next()) {
+ *       int value = cursor.toInt(0);
+ *   }
+ * </pre>
+ */
+public final class SpanSplitter {
+
+    /**
+     * 逗号分离器，与 {@link Splitters#COMMA} 的规则一致。
+     */
+    public static final SpanSplitter COMMA = on(CommonSymbols.HALF_COMMA).trimResults().omitEmptyStrings();
+    /**
+     * 分号分离器，与 {@link Splitters#SEMICOLON} 的规则一致。
+     */
+    public static final SpanSplitter SEMICOLON = on(CommonSymbols.HALF_SEMICOLON).trimResults().omitEmptyStrings();
+    /**
+     * 冒号分离器，与 {@link Splitters#COLON} 的规则一致。
+     */
+    public static final SpanSplitter COLON = on(CommonSymbols.HALF_COLON).trimResults().omitEmptyStrings();
+    /**
+     * 破折号分离器，与 {@link Splitters#DASH} 的规则一致。
+     */
+    public static final SpanSplitter DASH = on(CommonSymbols.HALF_DASH).trimResults().omitEmptyStrings();
+    /**
+     * 点号分离器，与 {@link Splitters#DOT} 的规则一致。
+     */
+    public static final SpanSplitter DOT = on(CommonSymbols.HALF_DOT).trimResults().omitEmptyStrings();
+
+    private final char separator;
+    private final boolean trim;
+    private final boolean omitEmpty;
+
+    private SpanSplitter(char separator, boolean trim, boolean omitEmpty) {
+        this.separator = separator;
+        this.trim = trim;
+        this.omitEmpty = omitEmpty;
+    }
+
+    /**
+     * 以指定字符分离，默认不裁减空白，也不忽略空串。
+     *
+     * @param separator 分隔符。
+     * @return 区间分离器。
+     */
+    public static SpanSplitter on(char separator) {
+        return new SpanSplitter(separator, false, false);
+    }
+
+    /**
+     * 裁减每一段前后的空白字符。
+     *
+     * @return 新的区间分离器。
+     */
+    public SpanSplitter trimResults() {
+        return new SpanSplitter(separator, true, omitEmpty);
+    }
+
+    /**
+     * 忽略空串，如果同时裁减空白，则在裁减之后判断。
+     *
+     * @return 新的区间分离器。
+     */
+    public SpanSplitter omitEmptyStrings() {
+        return new SpanSplitter(separator, trim, true);
+    }
+
+    /**
+     * 创建游标，游标可以通过 reset 方法反复使用。
+     *
+     * @return 尚未关联内容的游标。
+     */
+    public Cursor cursor() {
+        return new Cursor(this);
+    }
+
+    /**
+     * 分离字符序列。
+     *
+     * @param source 字符序列。
+     * @return 关联此字符序列的游标。
+     */
+    public Cursor split(CharSequence source) {
+        return cursor().reset(source);
+    }
+
+    /**
+     * 分离字符序列，并将每一段解析为整数。
+     *
+     * @param source       字符序列。
+     * @param dest         目标数组，超出数组长度的部分将被忽略。
+     * @param defaultValue 无法解析时使用的默认值。
+     * @return 写入的数量。
+     */
+    public int splitToInts(CharSequence source, int[] dest, int defaultValue) {
+        Preconditions.checkNotNull(source, "source == null");
+        Preconditions.checkNotNull(dest, "dest == null");
+        return toInts(source, null, 0, source.length(), dest, defaultValue);
+    }
+
+    /**
+     * 分离 ASCII 字节数组的指定区间，并将每一段解析为整数。
+     *
+     * @param source       字节数组。
+     * @param off          起始位置。
+     * @param len          长度。
+     * @param dest         目标数组，超出数组长度的部分将被忽略。
+     * @param defaultValue 无法解析时使用的默认值。
+     * @return 写入的数量。
+     */
+    public int splitToInts(byte[] source, int off, int len, int[] dest, int defaultValue) {
+        checkBytes(source, off, len);
+        Preconditions.checkNotNull(dest, "dest == null");
+        return toInts(null, source, off, off + len, dest, defaultValue);
+    }
+
+    /*
+     * 与游标的分离规则相同，但是直接在局部变量中记录位置，不需要创建游标。
+     */
+    private int toInts(@Nullable CharSequence text, @Nullable byte[] bytes, int position, int limit,
+                       int[] dest, int defaultValue) {
+        int count = 0;
+        while (count < dest.length && position <= limit) {
+            int from = position;
+            int to = indexOfSeparator(text, bytes, from, limit);
+            position = to + 1;
+            if (trim) {
+                from = trimStart(text, bytes, from, to);
+                to = trimEnd(text, bytes, from, to);
+            }
+            if (omitEmpty && from == to) {
+                continue;
+            }
+            dest[count++] = text != null
+                    ? Numbers.ofInt(text, from, to - from, defaultValue)
+                    : Numbers.ofInt(bytes, from, to - from, defaultValue);
+        }
+        return count;
+    }
+
+    private void checkBytes(byte[] source, int off, int len) {
+        Preconditions.checkNotNull(source, "source == null");
+        Preconditions.checkPositionIndexes(off, off + len, source.length);
+        Preconditions.checkState(separator < 0x80, "separator %s is not an ASCII character.", separator);
+    }
+
+    private int indexOfSeparator(@Nullable CharSequence text, @Nullable byte[] bytes, int from, int limit) {
+        if (text != null) {
+            for (int i = from; i < limit; i++) {
+                if (text.charAt(i) == separator) {
+                    return i;
+                }
+            }
+        } else {
+            for (int i = from; i < limit; i++) {
+                if (bytes[i] == separator) {
+                    return i;
+                }
+            }
+        }
+        return limit;
+    }
+
+    private static int trimStart(@Nullable CharSequence text, @Nullable byte[] bytes, int from, int to) {
+        while (from < to && isWhitespace(text, bytes, from)) {
+            from++;
+        }
+        return from;
+    }
+
+    private static int trimEnd(@Nullable CharSequence text, @Nullable byte[] bytes, int from, int to) {
+        while (to > from && isWhitespace(text, bytes, to - 1)) {
+            to--;
+        }
+        return to;
+    }
+
+    private static boolean isWhitespace(@Nullable CharSequence text, @Nullable byte[] bytes, int index) {
+        if (text != null) {
+            return CharMatcher.whitespace().matches(text.charAt(index));
+        }
+        byte b = bytes[index];
+        return b >= 0 && CharMatcher.whitespace().matches((char) b);
+    }
+
+    /**
+     * 区间游标。
+     * <p>
+     * 每次调用 {@link #next()} 移动到下一段，通过 {@link #start()} 和 {@link #end()} 获取这一段在原始内容中的位置。
+     * <p>
+     * 注意：游标不是线程安全的。
+     */
+    public static final class Cursor {
+        private final SpanSplitter splitter;
+
+        private CharSequence text;
+        private byte[] bytes;
+        private int limit;
+        private int position;
+        private int start;
+        private int end;
+
+        private Cursor(SpanSplitter splitter) {
+            this.splitter = splitter;
+        }
+
+        /**
+         * 关联字符序列，并回到起点。
+         *
+         * @param source 字符序列。
+         * @return 游标本身。
+         */
+        public Cursor reset(CharSequence source) {
+            Preconditions.checkNotNull(source, "source == null");
+            return reset(source, 0, source.length());
+        }
+
+        /**
+         * 关联字符序列的指定区间，并回到起点。
+         *
+         * @param source 字符序列。
+         * @param off    起始位置。
+         * @param len    长度。
+         * @return 游标本身。
+         */
+        public Cursor reset(CharSequence source, int off, int len) {
+            Preconditions.checkNotNull(source, "source == null");
+            Preconditions.checkPositionIndexes(off, off + len, source.length());
+            this.text = source;
+            this.bytes = null;
+            return rewind(off, len);
+        }
+
+        /**
+         * 关联 ASCII 字节数组的指定区间，并回到起点。分隔符必须是 ASCII 字符。
+         *
+         * @param source 字节数组。
+         * @param off    起始位置。
+         * @param len    长度。
+         * @return 游标本身。
+         */
+        public Cursor reset(byte[] source, int off, int len) {
+            splitter.checkBytes(source, off, len);
+            this.text = null;
+            this.bytes = source;
+            return rewind(off, len);
+        }
+
+        private Cursor rewind(int off, int len) {
+            this.position = off;
+            this.limit = off + len;
+            this.start = off;
+            this.end = off;
+            return this;
+        }
+
+        /**
+         * 移动到下一段。
+         *
+         * @return 是否还有下一段。
+         */
+        public boolean next() {
+            Preconditions.checkState(text != null || bytes != null, "cursor has not been reset.");
+            // position 超过 limit 表示最后一段已经给出
+            while (position <= limit) {
+                int from = position;
+                int to = splitter.indexOfSeparator(text, bytes, from, limit);
+                position = to + 1;
+                if (splitter.trim) {
+                    from = trimStart(text, bytes, from, to);
+                    to = trimEnd(text, bytes, from, to);
+                }
+                if (splitter.omitEmpty && from == to) {
+                    continue;
+                }
+                start = from;
+                end = to;
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * 当前段的起始位置（包含）。
+         */
+        public int start() {
+            return start;
+        }
+
+        /**
+         * 当前段的结束位置（不包含）。
+         */
+        public int end() {
+            return end;
+        }
+
+        /**
+         * 当前段的长度。
+         */
+        public int length() {
+            return end - start;
+        }
+
+        /**
+         * 当前段的字符串，会创建新的字符串对象。
+         */
+        public String value() {
+            if (text != null) {
+                return text.subSequence(start, end).toString();
+            }
+            char[] chars = new char[end - start];
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = (char) (bytes[start + i] & 0xFF);
+            }
+            return new String(chars);
+        }
+
+        /**
+         * 将当前段解析为整数，不创建子串。
+         *
+         * @param defaultValue 无法解析时返回的默认值。
+         * @return 整数。
+         */
+        public int toInt(int defaultValue) {
+            return text != null
+                    ? Numbers.ofInt(text, start, end - start, defaultValue)
+                    : Numbers.ofInt(bytes, start, end - start, defaultValue);
+        }
+
+        /**
+         * 将当前段解析为长整数，不创建子串。
+         *
+         * @param defaultValue 无法解析时返回的默认值。
+         * @return 长整数。
+         */
+        public long toLong(long defaultValue) {
+            return text != null
+                    ? Numbers.ofLong(text, start, end - start, defaultValue)
+                    : Numbers.ofLong(bytes, start, end - start, defaultValue);
+        }
+
+        /**
+         * 将当前段解析为双精度浮点数，不创建子串。
+         *
+         * @param defaultValue 无法解析时返回的默认值。
+         * @return 双精度浮点数。
+         */
+        public double toDouble(double defaultValue) {
+            return text != null
+                    ? Numbers.ofDouble(text, start, end - start, defaultValue)
+                    : Numbers.ofDouble(bytes, start, end - start, defaultValue);
+        }
+    }
+}
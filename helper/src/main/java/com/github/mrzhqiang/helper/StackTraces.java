@@ -1,7 +1,10 @@
 package com.github.mrzhqiang.helper;
 
-import java.io.PrintWriter;
-import java.io.StringWriter;
+import com.google.common.base.Preconditions;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
 
 /**
  * 堆栈工具。
@@ -9,23 +12,158 @@ import java.io.StringWriter;
  * 实际上可以用 Throwables 类替代当前类，但本工具类可以结合 IDEA 的调试模式，给出详细的堆栈内容。
  * <p>
  * 当在生产环境中运行时，可以屏蔽堆栈打印，以提升性能。
+ * <p>
+ * 限制长度的方法逐帧输出，达到长度上限后立即停止，不会先生成完整的堆栈字符串再截断；
+ * 输出格式与 {@link Throwable#printStackTrace()} 一致，因此结果等同于完整堆栈字符串的前缀。
  */
 public final class StackTraces {
     private StackTraces() {
         // no instances
     }
 
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+    private static final String CAUSE_CAPTION = "Caused by: ";
+    private static final String SUPPRESSED_CAPTION = "Suppressed: ";
+
     /**
      * 获得调用当前类时的堆栈内容。
      *
      * @return 堆栈内容，从调用当前类开始逐帧输出。
      */
     public static String ofCurrent() {
-        StringWriter writer = new StringWriter();
-        PrintWriter printWriter = new PrintWriter(writer);
-        for (StackTraceElement element : Thread.currentThread().getStackTrace()) {
-            printWriter.println(element);
+        return render(Thread.currentThread().getStackTrace(), Integer.MAX_VALUE);
+    }
+
+    /**
+     * 获得调用当前类时的堆栈内容，并限制长度。
+     *
+     * @param maxLength 最大长度。
+     * @return 堆栈内容，从调用当前类开始逐帧输出，达到最大长度后不再输出。
+     */
+    public static String ofCurrent(int maxLength) {
+        Preconditions.checkArgument(maxLength >= 0, "maxLength < 0");
+        return render(Thread.currentThread().getStackTrace(), maxLength);
+    }
+
+    /**
+     * 获得异常的堆栈内容，并限制长度。
+     * <p>
+     * 结果与 {@link com.google.common.base.Throwables#getStackTraceAsString(Throwable)} 截断到相同长度一致，
+     * 但是达到最大长度之后的堆栈帧、异常原因以及被抑制的异常都不会再处理。
+     *
+     * @param throwable 异常实例。
+     * @param maxLength 最大长度。
+     * @return 堆栈内容。
+     */
+    public static String of(Throwable throwable, int maxLength) {
+        Preconditions.checkNotNull(throwable, "throwable == null");
+        Preconditions.checkArgument(maxLength >= 0, "maxLength < 0");
+        Bounded out = new Bounded(maxLength);
+        Set<Throwable> dejaVu = Collections.newSetFromMap(new IdentityHashMap<>());
+        dejaVu.add(throwable);
+
+        StackTraceElement[] trace = throwable.getStackTrace();
+        if (out.line("", throwable.toString())) {
+            return out.toString();
+        }
+        for (StackTraceElement element : trace) {
+            if (out.line("\tat ", String.valueOf(element))) {
+                return out.toString();
+            }
+        }
+        for (Throwable suppressed : throwable.getSuppressed()) {
+            if (enclosed(out, suppressed, trace, SUPPRESSED_CAPTION, "\t", dejaVu)) {
+                return out.toString();
+            }
+        }
+        Throwable cause = throwable.getCause();
+        if (cause != null) {
+            enclosed(out, cause, trace, CAUSE_CAPTION, "", dejaVu);
+        }
+        return out.toString();
+    }
+
+    private static String render(StackTraceElement[] frames, int maxLength) {
+        Bounded out = new Bounded(maxLength);
+        for (StackTraceElement element : frames) {
+            if (out.line("", String.valueOf(element))) {
+                break;
+            }
+        }
+        return out.toString();
+    }
+
+    /**
+     * 与 Throwable#printEnclosedStackTrace 相同的输出，省略与外层异常相同的堆栈帧。
+     *
+     * @return 是否已经达到最大长度。
+     */
+    private static boolean enclosed(Bounded out, Throwable throwable, StackTraceElement[] enclosingTrace,
+                                    String caption, String prefix, Set<Throwable> dejaVu) {
+        if (dejaVu.contains(throwable)) {
+            return out.line(prefix + caption, "[CIRCULAR REFERENCE: " + throwable + "]");
+        }
+        dejaVu.add(throwable);
+
+        StackTraceElement[] trace = throwable.getStackTrace();
+        int m = trace.length - 1;
+        int n = enclosingTrace.length - 1;
+        while (m >= 0 && n >= 0 && trace[m].equals(enclosingTrace[n])) {
+            m--;
+            n--;
+        }
+        int framesInCommon = trace.length - 1 - m;
+
+        if (out.line(prefix + caption, throwable.toString())) {
+            return true;
+        }
+        String at = prefix + "\tat ";
+        for (int i = 0; i <= m; i++) {
+            if (out.line(at, String.valueOf(trace[i]))) {
+                return true;
+            }
+        }
+        if (framesInCommon != 0 && out.line(prefix + "\t... ", framesInCommon + " more")) {
+            return true;
+        }
+        for (Throwable suppressed : throwable.getSuppressed()) {
+            if (enclosed(out, suppressed, trace, SUPPRESSED_CAPTION, prefix + "\t", dejaVu)) {
+                return true;
+            }
+        }
+        Throwable cause = throwable.getCause();
+        return cause != null && enclosed(out, cause, trace, CAUSE_CAPTION, prefix, dejaVu);
+    }
+
+    /**
+     * 限制长度的字符串缓冲区。
+     */
+    private static final class Bounded {
+        private final int maxLength;
+        private final StringBuilder builder;
+
+        Bounded(int maxLength) {
+            this.maxLength = maxLength;
+            this.builder = new StringBuilder(Math.min(maxLength, 1024));
+        }
+
+        /**
+         * 输出一行。
+         *
+         * @return 是否已经达到最大长度。
+         */
+        boolean line(String prefix, String content) {
+            builder.append(prefix).append(content).append(LINE_SEPARATOR);
+            if (builder.length() >= maxLength) {
+                builder.setLength(maxLength);
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public String toString() {
+            return builder.toString();
         }
-        return writer.toString();
     }
 }
@@ -0,0 +1,132 @@
+package com.github.mrzhqiang.helper;
+
+import com.google.common.base.Preconditions;
+
+import java.util.stream.LongStream;
+
+/**
+ * 分道 ID 生成器。
+ * <p>
+ * 单个 {@link IdGenerator} 实例的所有线程都在同一个序列号上竞争，此生成器内部维护 N 个互相独立的
+ * {@link IdGenerator} 分道，每个线程根据自身线程 ID 固定映射到其中一个分道，从而将竞争分散到多个计数器上。
+ * <p>
+ * 分道有两种划分方式：
+ * <p>
+ * 1. {@link #ofWorkers(long, long, int)} 每个分道占用一个连续的工作机器序号，每个分道每毫秒仍有 4096 个序列号；
+ * <p>
+ * 2. {@link #ofSequence(long, long, int)} 从序列号高位切出若干位作为分道编号，工作机器序号保持不变，
+ * 但每个分道每毫秒的序列号容量相应缩小。
+ * <p>
+ * 两种方式下，各分道生成的 ID 都全局唯一，并且仍然按照毫秒时间大致有序，但不再保证跨线程严格递增。
+ */
+public final class StripedIdGenerator {
+
+    private final IdGenerator[] lanes;
+    private final int laneMask;
+
+    private StripedIdGenerator(IdGenerator[] lanes) {
+        this.lanes = lanes;
+        this.laneMask = lanes.length - 1;
+    }
+
+    /**
+     * 按照工作机器序号划分分道。
+     * <p>
+     * 分道 i 使用工作机器序号 firstWorkerId + i，调用方需要保证这一段工作机器序号只分配给当前进程。
+     *
+     * @param firstWorkerId 起始工作机器序号。
+     * @param datacenterId  数据中心编号。
+     * @param lanes         分道数量，必须是 2 的幂，并且 firstWorkerId + lanes 不能超过 32。
+     * @return 分道 ID 生成器。
+     */
+    public static StripedIdGenerator ofWorkers(long firstWorkerId, long datacenterId, int lanes) {
+        checkLanes(lanes);
+        Preconditions.checkArgument(firstWorkerId >= 0 && firstWorkerId + lanes - 1 <= IdGenerator.MAX_WORKER_ID,
+                "The worker ids [%s, %s] must be in [%s, %s]",
+                firstWorkerId, firstWorkerId + lanes - 1, 0, IdGenerator.MAX_WORKER_ID);
+
+        IdGenerator[] generators = new IdGenerator[lanes];
+        for (int i = 0; i < lanes; i++) {
+            generators[i] = new IdGenerator(firstWorkerId + i, datacenterId);
+        }
+        return new StripedIdGenerator(generators);
+    }
+
+    /**
+     * 按照序列号高位划分分道。
+     * <p>
+     * 每个分道每毫秒的序列号容量为 4096 / lanes，总容量不变。
+     *
+     * @param workerId     工作机器序号。
+     * @param datacenterId 数据中心编号。
+     * @param lanes        分道数量，必须是 2 的幂，并且不能超过 2048。
+     * @return 分道 ID 生成器。
+     */
+    public static StripedIdGenerator ofSequence(long workerId, long datacenterId, int lanes) {
+        checkLanes(lanes);
+        int laneBits = Integer.numberOfTrailingZeros(lanes);
+        Preconditions.checkArgument(laneBits < IdGenerator.SEQUENCE_BITS,
+                "lanes %s must be < %s.", lanes, 1 << IdGenerator.SEQUENCE_BITS);
+
+        IdGenerator[] generators = new IdGenerator[lanes];
+        for (int i = 0; i < lanes; i++) {
+            generators[i] = new IdGenerator(workerId, datacenterId, laneBits, i,
+                    IdGenerator.MAX_BORROW_MILLIS, System::currentTimeMillis);
+        }
+        return new StripedIdGenerator(generators);
+    }
+
+    /**
+     * 分道数量。
+     */
+    public int lanes() {
+        return lanes.length;
+    }
+
+    /**
+     * 从当前线程对应的分道获取下一个 ID 值。
+     */
+    public long nextId() {
+        return lane().nextId();
+    }
+
+    /**
+     * 从当前线程对应的分道批量获取指定数量的 ID 值。
+     *
+     * @see IdGenerator#nextIds(int)
+     */
+    public long[] nextIds(int n) {
+        return lane().nextIds(n);
+    }
+
+    /**
+     * 从当前线程对应的分道批量获取 ID 值，填满目标数组。
+     *
+     * @see IdGenerator#nextIds(long[])
+     */
+    public void nextIds(long[] dest) {
+        lane().nextIds(dest);
+    }
+
+    /**
+     * 从当前线程对应的分道预留指定数量的 ID 值。
+     *
+     * @see IdGenerator#reserve(int)
+     */
+    public LongStream reserve(int n) {
+        return lane().reserve(n);
+    }
+
+    /*
+     * 线程 ID 经过乘法散列后取高位，使得线程池中连续的线程 ID 均匀分布到各个分道。
+     */
+    private IdGenerator lane() {
+        long h = Thread.currentThread().getId() * 0x9E3779B97F4A7C15L;
+        return lanes[(int) (h >>> 32) & laneMask];
+    }
+
+    private static void checkLanes(int lanes) {
+        Preconditions.checkArgument(lanes > 0 && Integer.bitCount(lanes) == 1,
+                "lanes %s must be a power of 2.", lanes);
+    }
+}
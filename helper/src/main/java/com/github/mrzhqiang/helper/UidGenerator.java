@@ -0,0 +1,211 @@
+package com.github.mrzhqiang.helper;
+
+import com.google.common.base.Preconditions;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 数字 UID 生成器。
+ * <p>
+ * {@link Sequences#ofUid(String)} 由哈希前缀和随机后缀组成，用户量较大时碰撞频繁，只能依赖数据库唯一键冲突后重试。
+ * 此生成器将每个节点的自增计数器，通过带密钥的 Feistel 置换映射到固定位数的十进制空间中：
+ * <p>
+ * 1. 置换是一一映射，不同的计数器值必然得到不同的 UID，不需要任何重试；
+ * <p>
+ * 2. 相邻的计数器值映射后看起来是随机的，外部无法从 UID 推算出注册顺序和用户总量；
+ * <p>
+ * 3. UID 的取值范围为 [10^(digits-1), 10^digits)，即固定 digits 位数字，并且首位不为零。
+ * <p>
+ * 置换采用 a * b 形式的广义 Feistel 网络：把输入拆分为 X / b 和 X % b 两部分，每一轮
+ * X' = a * (X % b) + (X / b + F(X % b)) % a，其中 F 为带密钥的混淆函数。每一轮都可逆，因此整体是定义域上的置换，
+ * 不需要循环游走。
+ * <p>
+ * 多节点部署时，每个节点使用不同的 node 编号，节点 i 只使用计数器值 i, i + nodes, i + 2 * nodes ...，
+ * 因此各个节点之间也不会碰撞。
+ * <p>
+ * 注意：计数器只保存在内存中，进程重启后需要通过 start 参数从持久化的位置继续，
+ * 或者直接把外部计数器（比如数据库序列）的值传给 {@link #permute(long)} 方法；密钥一旦确定不能变动。
+ */
+public final class UidGenerator {
+
+    /**
+     * UID 最小位数。
+     */
+    public static final int MIN_DIGITS = 7;
+    /**
+     * UID 最大位数。
+     */
+    public static final int MAX_DIGITS = 9;
+
+    // Feistel 轮数，a * b 形式的网络至少需要 3 轮，这里取 8 轮保证充分混淆
+    private static final int ROUNDS = 8;
+
+    private final int digits;
+    private final long key;
+    private final int node;
+    private final int nodes;
+    // 首位非零的起始值，即 10^(digits-1)
+    private final long offset;
+    // 定义域大小 a * b == 9 * 10^(digits-1)
+    private final long a;
+    private final long b;
+    private final long capacity;
+    private final AtomicLong counter;
+
+    /**
+     * 单节点的 UID 生成器，计数器从 0 开始。
+     *
+     * @param digits UID 位数，范围 [7, 9]。
+     * @param key    置换密钥。
+     */
+    public UidGenerator(int digits, long key) {
+        this(digits, key, 0, 1, 0);
+    }
+
+    /**
+     * UID 生成器。
+     *
+     * @param digits UID 位数，范围 [7, 9]。
+     * @param key    置换密钥，同一个业务的所有节点必须相同。
+     * @param node   当前节点编号，范围 [0, nodes)。
+     * @param nodes  节点总数。
+     * @param start  当前节点计数器的起始值，通常是上次持久化的计数器值。
+     */
+    public UidGenerator(int digits, long key, int node, int nodes, long start) {
+        Preconditions.checkArgument(digits >= MIN_DIGITS && digits <= MAX_DIGITS,
+                "digits %s must be in [%s, %s]", digits, MIN_DIGITS, MAX_DIGITS);
+        Preconditions.checkArgument(nodes > 0, "nodes %s must be > 0", nodes);
+        Preconditions.checkArgument(node >= 0 && node < nodes, "node %s must be in [0, %s)", node, nodes);
+        Preconditions.checkArgument(start >= 0, "start %s must be >= 0", start);
+
+        this.digits = digits;
+        this.key = key;
+        this.node = node;
+        this.nodes = nodes;
+        this.offset = pow10(digits - 1);
+        this.a = 9 * pow10(digits / 2 - 1);
+        this.b = pow10(digits - digits / 2);
+        long domain = a * b;
+        this.capacity = domain / nodes + (node < domain % nodes ? 1 : 0);
+        this.counter = new AtomicLong(start);
+    }
+
+    /**
+     * UID 位数。
+     */
+    public int digits() {
+        return digits;
+    }
+
+    /**
+     * 当前节点可以生成的 UID 总数。
+     */
+    public long capacity() {
+        return capacity;
+    }
+
+    /**
+     * 当前节点计数器的值，即下一次生成 UID 时使用的计数器值，可以用于持久化。
+     */
+    public long counter() {
+        return counter.get();
+    }
+
+    /**
+     * 获取下一个 UID 值。
+     *
+     * @return 固定 digits 位的数字 UID。
+     * @throws IllegalStateException 如果当前节点的 UID 空间已经耗尽。
+     */
+    public long nextUid() {
+        long count = counter.getAndIncrement();
+        Preconditions.checkState(count < capacity,
+                "The uid space of node %s is exhausted, capacity: %s", node, capacity);
+        return permute(count * nodes + node);
+    }
+
+    /**
+     * 获取下一个 UID 字符串。
+     */
+    public String nextUidString() {
+        char[] chars = new char[digits];
+        nextUid(chars, 0);
+        return new String(chars);
+    }
+
+    /**
+     * 获取下一个 UID 值，并以十进制数字写入目标数组。
+     *
+     * @param dest 目标数组，从 off 开始需要有 digits 个字符的空间。
+     * @param off  写入的起始位置。
+     */
+    public void nextUid(char[] dest, int off) {
+        Preconditions.checkNotNull(dest, "dest == null");
+        Preconditions.checkPositionIndexes(off, off + digits, dest.length);
+        long uid = nextUid();
+        for (int i = off + digits - 1; i >= off; i--) {
+            dest[i] = (char) ('0' + uid % 10);
+            uid /= 10;
+        }
+    }
+
+    /**
+     * 将序号置换为 UID 值。
+     * <p>
+     * 适用于计数器由外部维护的场景，比如数据库序列或者号段分配器。
+     *
+     * @param index 序号，范围 [0, 9 * 10^(digits-1))。
+     * @return 固定 digits 位的数字 UID。
+     */
+    public long permute(long index) {
+        Preconditions.checkArgument(index >= 0 && index < a * b,
+                "index %s must be in [0, %s)", index, a * b);
+        long x = index;
+        for (int round = 0; round < ROUNDS; round++) {
+            long r = x % b;
+            long w = (x / b + round(round, r, a)) % a;
+            x = a * r + w;
+        }
+        return offset + x;
+    }
+
+    /**
+     * 将 UID 值还原为序号，是 {@link #permute(long)} 的逆运算。
+     *
+     * @param uid 固定 digits 位的数字 UID。
+     * @return 序号。
+     */
+    public long unpermute(long uid) {
+        Preconditions.checkArgument(uid >= offset && uid < offset + a * b,
+                "uid %s must be in [%s, %s)", uid, offset, offset + a * b);
+        long x = uid - offset;
+        for (int round = ROUNDS - 1; round >= 0; round--) {
+            long r = x / a;
+            long w = x % a;
+            long l = Math.floorMod(w - round(round, r, a), a);
+            x = l * b + r;
+        }
+        return x;
+    }
+
+    /*
+     * 轮函数：对密钥、轮次和右半部分做 64 位混淆（MurmurHash3 fmix64），再对 modulus 取模。
+     */
+    private long round(int round, long r, long modulus) {
+        long h = key ^ (round + 1) * 0x9E3779B97F4A7C15L ^ r * 0xC2B2AE3D27D4EB4FL;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return (h >>> 1) % modulus;
+    }
+
+    private static long pow10(int n) {
+        long result = 1;
+        for (int i = 0; i < n; i++) {
+            result *= 10;
+        }
+        return result;
+    }
+}
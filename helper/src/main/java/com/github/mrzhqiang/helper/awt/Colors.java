@@ -1,12 +1,11 @@
 package com.github.mrzhqiang.helper.awt;
 
 import com.github.mrzhqiang.helper.Matchers;
-import com.github.mrzhqiang.helper.Splitters;
+import com.github.mrzhqiang.helper.SpanSplitter;
 import com.google.common.base.Strings;
 
 import java.awt.Color;
 import java.lang.reflect.Field;
-import java.util.List;
 
 /**
  * 颜色工具类。
@@ -54,22 +53,23 @@ public final class Colors {
         }
 
         if (Matchers.COMMA.matchesAnyOf(color)) {
-            try {
-                // 无需裁减前后空格，分割器已自动裁减
-                List<String> colors = Splitters.COMMA.splitToList(color);
-                if (colors.size() >= 3) {
-                    int r = Integer.parseInt(colors.get(0));
-                    int g = Integer.parseInt(colors.get(1));
-                    int b = Integer.parseInt(colors.get(2));
-                    if (colors.size() == 4) {
-                        int a = Integer.parseInt(colors.get(3));
-                        return new Color(r, g, b, a);
-                    }
-                    return new Color(r, g, b);
+            // 无需裁减前后空格，分离器已自动裁减；最多读取 5 段，用来区分 r,g,b,a 以及更多的情况
+            int[] values = new int[5];
+            int count = SpanSplitter.COMMA.splitToInts(color, values, -1);
+            if (count < 3) {
+                return defaultColor;
+            }
+            // 与之前一样，只有刚好 4 段时才读取透明度
+            int channels = count == 4 ? 4 : 3;
+            for (int i = 0; i < channels; i++) {
+                if (values[i] < 0 || values[i] > 255) {
+                    return defaultColor;
                 }
-            } catch (Exception ignored) {
             }
-            return defaultColor;
+            if (count == 4) {
+                return new Color(values[0], values[1], values[2], values[3]);
+            }
+            return new Color(values[0], values[1], values[2]);
         }
 
         try {
@@ -6,6 +6,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
@@ -14,6 +15,8 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.stream.Stream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
@@ -60,7 +63,59 @@ public final class Compressor {
             LOGGER.warn("ZIP 压缩源文件 {} 不存在！", sourcePath);
             return;
         }
+        Path destinationPath = zipDestination(destination);
 
+        try (ZipOutputStream zos = new ZipOutputStream(new FileOutputStream(destinationPath.toFile()))) {
+            compress(sourcePath, zos, "");
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("完成 ZIP 压缩 {} 到 {}。", sourcePath, destinationPath);
+            }
+        } catch (Exception e) {
+            LOGGER.error("当 ZIP 压缩时，出现意料之外的错误！", e);
+        }
+    }
+
+    /**
+     * 使用 zip 方式并行压缩文件或目录。
+     * <p>
+     * 每个文件在 ForkJoinPool 中独立压缩，然后按照与 {@link #zipCompress(String, String)} 相同的顺序写入压缩包，
+     * 适合包含大量文件的目录。压缩包中的条目名称与顺序压缩一致，条目时间取文件的最后修改时间。
+     * <p>
+     * 如果是源文件不存在，将只生成日志警告，不执行任何操作。
+     * <p>
+     * 如果目标文件已存在，将自动添加时间后缀。
+     *
+     * @param source      需要压缩的文件地址。
+     * @param destination 压缩文件存放的地址。
+     * @param parallelism 并行度，小于等于 0 表示使用所有可用的处理器。
+     * @param store       true 仅存储，不压缩，适合图片、视频等已经压缩过的文件；false 使用 DEFLATE 压缩。
+     */
+    public static void zipCompress(String source, String destination, int parallelism, boolean store) {
+        Preconditions.checkNotNull(source, "source == null");
+        Preconditions.checkNotNull(destination, "destination == null");
+
+        Path sourcePath = Paths.get(source);
+        if (Files.notExists(sourcePath)) {
+            LOGGER.warn("ZIP 压缩源文件 {} 不存在！", sourcePath);
+            return;
+        }
+        Path destinationPath = zipDestination(destination);
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+
+        try (BufferedOutputStream out = new BufferedOutputStream(
+                new FileOutputStream(destinationPath.toFile()), BUFFER_SIZE)) {
+            List<ParallelZip.Source> sources = new ArrayList<>();
+            collect(sourcePath, sources, "");
+            ParallelZip.write(sources, out, threads, store);
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("完成 ZIP 并行压缩 {} 到 {}，共 {} 个文件。", sourcePath, destinationPath, sources.size());
+            }
+        } catch (Exception e) {
+            LOGGER.error("当 ZIP 压缩时，出现意料之外的错误！", e);
+        }
+    }
+
+    private static Path zipDestination(String destination) {
         String suffix = ".zip";
         boolean hasSuffix = destination.endsWith(suffix);
         String newDestination = hasSuffix ? destination : destination + suffix;
@@ -74,14 +129,23 @@ public final class Compressor {
         }
         Explorer.mkdir(destinationPath.getParent());
         Explorer.create(destinationPath);
+        return destinationPath;
+    }
 
-        try (ZipOutputStream zos = new ZipOutputStream(new FileOutputStream(destinationPath.toFile()))) {
-            compress(sourcePath, zos, "");
-            if (LOGGER.isDebugEnabled()) {
-                LOGGER.debug("完成 ZIP 压缩 {} 到 {}。", sourcePath, destinationPath);
+    /**
+     * 按照与 {@link #compress(Path, ZipOutputStream, String)} 相同的顺序和命名规则收集文件。
+     */
+    private static void collect(Path sourcePath, List<ParallelZip.Source> sources, String baseDir) {
+        if (Files.isDirectory(sourcePath)) {
+            try (Stream<Path> pathStream = Explorer.list(sourcePath)) {
+                pathStream.forEach(it -> {
+                    String sourceFilename = sourcePath.getFileName().toString();
+                    String subDir = Paths.get(baseDir, sourceFilename) + File.separator;
+                    collect(it, sources, subDir);
+                });
             }
-        } catch (Exception e) {
-            LOGGER.error("当 ZIP 压缩时，出现意料之外的错误！", e);
+        } else if (Files.exists(sourcePath)) {
+            sources.add(new ParallelZip.Source(sourcePath, baseDir + sourcePath.getFileName()));
         }
     }
 
@@ -0,0 +1,418 @@
+package com.github.mrzhqiang.helper.io;
+
+import com.google.common.base.Strings;
+import com.google.common.io.CountingOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * 并行 ZIP 压缩。
+ * <p>
+ * 分散阶段：每个文件在 ForkJoinPool 中独立压缩，同时计算 CRC 以及压缩前后的大小，
+ * 压缩结果先写入内存，超过 {@link #SPILL_THRESHOLD} 之后转存到临时文件。
+ * <p>
+ * 汇集阶段：按照遍历顺序依次写入本地文件头、压缩数据，最后写入中央目录。
+ * 由于 {@link java.util.zip.ZipOutputStream} 总是会重新压缩写入的数据，这里直接输出 ZIP 格式，
+ * 文件大小、偏移量或者条目数量超出范围时使用 ZIP64 扩展。
+ * <p>
+ * 同时处理的条目数量限制在并行度的若干倍以内，避免大目录占用过多内存或临时文件。
+ */
+final class ParallelZip {
+    private ParallelZip() {
+        // no instances
+    }
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ParallelZip.class);
+
+    private static final int BUFFER_SIZE = 8192;
+    /**
+     * 单个条目在内存中保存的压缩数据上限，超出后转存到临时文件。
+     */
+    private static final int SPILL_THRESHOLD = 1024 * 1024;
+    /**
+     * 每个线程预先处理的条目数量。
+     */
+    private static final int WINDOW_PER_THREAD = 4;
+
+    private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+    private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+    private static final int END_SIGNATURE = 0x06054b50;
+    private static final int ZIP64_END_SIGNATURE = 0x06064b50;
+    private static final int ZIP64_LOCATOR_SIGNATURE = 0x07064b50;
+    private static final int ZIP64_EXTRA_ID = 0x0001;
+
+    private static final int VERSION_DEFAULT = 20;
+    private static final int VERSION_ZIP64 = 45;
+    /**
+     * 通用标志位第 11 位：文件名使用 UTF-8 编码。
+     */
+    private static final int FLAG_UTF8 = 0x0800;
+    private static final int METHOD_STORED = 0;
+    private static final int METHOD_DEFLATED = 8;
+
+    private static final long ZIP64_MAGIC = 0xFFFFFFFFL;
+    private static final int ZIP64_MAGIC_COUNT = 0xFFFF;
+
+    /**
+     * 待压缩的文件，以及在压缩包中的名称。
+     */
+    static final class Source {
+        final Path path;
+        final String name;
+
+        Source(Path path, String name) {
+            this.path = path;
+            this.name = name;
+        }
+    }
+
+    /**
+     * 并行压缩文件列表，并按照列表顺序写入压缩包。
+     *
+     * @param sources     待压缩的文件列表。
+     * @param out         压缩包输出流。
+     * @param parallelism 并行度。
+     * @param store       true 仅存储；false 使用 DEFLATE 压缩。
+     */
+    static void write(List<Source> sources, OutputStream out, int parallelism, boolean store) throws IOException {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        Deque<ForkJoinTask<Scattered>> window = new ArrayDeque<>();
+        try {
+            ZipWriter writer = new ZipWriter(out);
+            int windowSize = parallelism * WINDOW_PER_THREAD;
+            int next = 0;
+            while (next < sources.size() || !window.isEmpty()) {
+                while (next < sources.size() && window.size() < windowSize) {
+                    Source source = sources.get(next++);
+                    window.add(pool.submit(() -> scatter(source, store)));
+                }
+                try (Scattered scattered = join(window.poll())) {
+                    if (scattered != null) {
+                        writer.entry(scattered);
+                    }
+                }
+            }
+            writer.finish();
+        } finally {
+            // 出错时等待已提交的条目完成，并清理它们的临时文件
+            for (ForkJoinTask<Scattered> task : window) {
+                task.cancel(false);
+                if (!task.isCancelled()) {
+                    Scattered scattered = task.join();
+                    if (scattered != null) {
+                        scattered.close();
+                    }
+                }
+            }
+            pool.shutdown();
+        }
+    }
+
+    private static Scattered join(ForkJoinTask<Scattered> task) throws IOException {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("ZIP 并行压缩被中断", e);
+        } catch (ExecutionException e) {
+            throw new IOException("ZIP 并行压缩失败", e.getCause());
+        }
+    }
+
+    /**
+     * 读取并压缩单个文件，无法读取的文件只记录日志，不写入压缩包，与顺序压缩的处理方式保持一致。
+     */
+    private static Scattered scatter(Source source, boolean store) {
+        Scattered scattered = new Scattered(source, store);
+        Deflater deflater = store ? null : new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        try (InputStream in = Files.newInputStream(source.path)) {
+            scattered.lastModified = Files.getLastModifiedTime(source.path).toMillis();
+            OutputStream target = store
+                    ? scattered.buffer
+                    : new DeflaterOutputStream(scattered.buffer, deflater, BUFFER_SIZE);
+            CRC32 crc = new CRC32();
+            byte[] buffer = new byte[BUFFER_SIZE];
+            long size = 0;
+            int n;
+            while ((n = in.read(buffer)) != -1) {
+                crc.update(buffer, 0, n);
+                target.write(buffer, 0, n);
+                size += n;
+            }
+            target.close();
+            scattered.crc = crc.getValue();
+            scattered.size = size;
+            return scattered;
+        } catch (Exception e) {
+            LOGGER.error(Strings.lenientFormat("压缩文件 %s 出错！", source.path), e);
+            scattered.close();
+            return null;
+        } finally {
+            if (deflater != null) {
+                deflater.end();
+            }
+        }
+    }
+
+    /**
+     * 单个条目的压缩结果。
+     */
+    private static final class Scattered implements Closeable {
+        final Source source;
+        final boolean store;
+        final SpillBuffer buffer = new SpillBuffer();
+        long lastModified;
+        long crc;
+        long size;
+
+        Scattered(Source source, boolean store) {
+            this.source = source;
+            this.store = store;
+        }
+
+        @Override
+        public void close() {
+            buffer.discard();
+        }
+    }
+
+    /**
+     * 先写入内存，超过阈值后转存到临时文件的输出流。
+     */
+    private static final class SpillBuffer extends OutputStream {
+        private ByteArrayOutputStream memory = new ByteArrayOutputStream(BUFFER_SIZE);
+        private Path file;
+        private OutputStream fileOut;
+        private long count;
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (fileOut == null && memory.size() + len > SPILL_THRESHOLD) {
+                file = Files.createTempFile("helper-zip-", ".tmp");
+                fileOut = Files.newOutputStream(file);
+                memory.writeTo(fileOut);
+                memory = null;
+            }
+            if (fileOut != null) {
+                fileOut.write(b, off, len);
+            } else {
+                memory.write(b, off, len);
+            }
+            count += len;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (fileOut != null) {
+                fileOut.close();
+            }
+        }
+
+        long count() {
+            return count;
+        }
+
+        void transferTo(OutputStream out) throws IOException {
+            if (file == null) {
+                memory.writeTo(out);
+            } else {
+                Files.copy(file, out);
+            }
+        }
+
+        void discard() {
+            memory = null;
+            if (file != null) {
+                try {
+                    if (fileOut != null) {
+                        fileOut.close();
+                    }
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    LOGGER.warn("无法删除临时文件 {}", file, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * 按顺序写入 ZIP 格式的输出流。
+     */
+    private static final class ZipWriter {
+        private final CountingOutputStream out;
+        private final ByteArrayOutputStream central = new ByteArrayOutputStream();
+        private final byte[] scratch = new byte[8];
+        private long entries;
+
+        ZipWriter(OutputStream out) {
+            this.out = new CountingOutputStream(out);
+        }
+
+        void entry(Scattered scattered) throws IOException {
+            byte[] name = scattered.source.name.getBytes(StandardCharsets.UTF_8);
+            long offset = out.getCount();
+            long size = scattered.size;
+            long compressedSize = scattered.buffer.count();
+            int method = scattered.store ? METHOD_STORED : METHOD_DEFLATED;
+            int time = dosTime(scattered.lastModified);
+
+            boolean zip64Sizes = size >= ZIP64_MAGIC || compressedSize >= ZIP64_MAGIC;
+            boolean zip64Offset = offset >= ZIP64_MAGIC;
+
+            // 本地文件头
+            int version = zip64Sizes ? VERSION_ZIP64 : VERSION_DEFAULT;
+            writeInt(out, LOCAL_HEADER_SIGNATURE);
+            writeShort(out, version);
+            writeShort(out, FLAG_UTF8);
+            writeShort(out, method);
+            writeInt(out, time);
+            writeInt(out, (int) scattered.crc);
+            writeInt(out, (int) (zip64Sizes ? ZIP64_MAGIC : compressedSize));
+            writeInt(out, (int) (zip64Sizes ? ZIP64_MAGIC : size));
+            writeShort(out, name.length);
+            writeShort(out, zip64Sizes ? 20 : 0);
+            out.write(name);
+            if (zip64Sizes) {
+                writeShort(out, ZIP64_EXTRA_ID);
+                writeShort(out, 16);
+                writeLong(out, size);
+                writeLong(out, compressedSize);
+            }
+            scattered.buffer.transferTo(out);
+
+            // 中央目录只记录超出范围的字段
+            int extra = (zip64Sizes ? 16 : 0) + (zip64Offset ? 8 : 0);
+            version = extra > 0 ? VERSION_ZIP64 : VERSION_DEFAULT;
+            writeInt(central, CENTRAL_HEADER_SIGNATURE);
+            writeShort(central, version);
+            writeShort(central, version);
+            writeShort(central, FLAG_UTF8);
+            writeShort(central, method);
+            writeInt(central, time);
+            writeInt(central, (int) scattered.crc);
+            writeInt(central, (int) (zip64Sizes ? ZIP64_MAGIC : compressedSize));
+            writeInt(central, (int) (zip64Sizes ? ZIP64_MAGIC : size));
+            writeShort(central, name.length);
+            writeShort(central, extra > 0 ? extra + 4 : 0);
+            // 注释长度、磁盘编号、内部属性、外部属性
+            writeShort(central, 0);
+            writeShort(central, 0);
+            writeShort(central, 0);
+            writeInt(central, 0);
+            writeInt(central, (int) (zip64Offset ? ZIP64_MAGIC : offset));
+            central.write(name);
+            if (extra > 0) {
+                writeShort(central, ZIP64_EXTRA_ID);
+                writeShort(central, extra);
+                if (zip64Sizes) {
+                    writeLong(central, size);
+                    writeLong(central, compressedSize);
+                }
+                if (zip64Offset) {
+                    writeLong(central, offset);
+                }
+            }
+            entries++;
+        }
+
+        void finish() throws IOException {
+            long centralOffset = out.getCount();
+            long centralSize = central.size();
+            central.writeTo(out);
+
+            boolean zip64 = entries >= ZIP64_MAGIC_COUNT
+                    || centralOffset >= ZIP64_MAGIC || centralSize >= ZIP64_MAGIC;
+            if (zip64) {
+                long zip64EndOffset = out.getCount();
+                writeInt(out, ZIP64_END_SIGNATURE);
+                writeLong(out, 44);
+                writeShort(out, VERSION_ZIP64);
+                writeShort(out, VERSION_ZIP64);
+                writeInt(out, 0);
+                writeInt(out, 0);
+                writeLong(out, entries);
+                writeLong(out, entries);
+                writeLong(out, centralSize);
+                writeLong(out, centralOffset);
+
+                writeInt(out, ZIP64_LOCATOR_SIGNATURE);
+                writeInt(out, 0);
+                writeLong(out, zip64EndOffset);
+                writeInt(out, 1);
+            }
+
+            writeInt(out, END_SIGNATURE);
+            writeShort(out, 0);
+            writeShort(out, 0);
+            int count = (int) Math.min(entries, ZIP64_MAGIC_COUNT);
+            writeShort(out, count);
+            writeShort(out, count);
+            writeInt(out, (int) Math.min(centralSize, ZIP64_MAGIC));
+            writeInt(out, (int) Math.min(centralOffset, ZIP64_MAGIC));
+            writeShort(out, 0);
+            out.flush();
+        }
+
+        private void writeShort(OutputStream stream, int value) throws IOException {
+            scratch[0] = (byte) value;
+            scratch[1] = (byte) (value >>> 8);
+            stream.write(scratch, 0, 2);
+        }
+
+        private void writeInt(OutputStream stream, int value) throws IOException {
+            for (int i = 0; i < 4; i++) {
+                scratch[i] = (byte) (value >>> (i * 8));
+            }
+            stream.write(scratch, 0, 4);
+        }
+
+        private void writeLong(OutputStream stream, long value) throws IOException {
+            for (int i = 0; i < 8; i++) {
+                scratch[i] = (byte) (value >>> (i * 8));
+            }
+            stream.write(scratch, 0, 8);
+        }
+
+        /**
+         * 转换为 MS-DOS 日期时间，早于 1980 年的时间按 1980 年 1 月 1 日处理。
+         */
+        private static int dosTime(long epochMillis) {
+            LocalDateTime time = LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+            if (time.getYear() < 1980) {
+                return (1 << 21) | (1 << 16);
+            }
+            return (time.getYear() - 1980) << 25
+                    | time.getMonthValue() << 21
+                    | time.getDayOfMonth() << 16
+                    | time.getHour() << 11
+                    | time.getMinute() << 5
+                    | time.getSecond() >> 1;
+        }
+    }
+}
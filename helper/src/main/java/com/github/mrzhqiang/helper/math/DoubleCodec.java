@@ -0,0 +1,669 @@
+package com.github.mrzhqiang.helper.math;
+
+import com.google.common.base.Preconditions;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+
+/**
+ * 双精度浮点数编解码器。
+ * <p>
+ * 格式化采用 Schubfach 算法，得到能够原样解析回来的最短十进制数字，输出格式与 {@link Double#toString(double)} 相同；
+ * 而 Java 8 的 Double.toString 在部分数值上会多输出一位数字。
+ * <p>
+ * 固定精度的格式化按照精确的二进制值做 HALF_EVEN 舍入：先在最短数字的基础上舍入，落在中点时再根据精确值判断；
+ * 不需要创建格式化对象，小数点固定为 '.'，不受默认 Locale 影响，也没有分组分隔符。
+ * 注意结果与 {@link java.text.DecimalFormat DecimalFormat} 并不完全一致，比如 5e-10 的精确值略大于中点，
+ * 保留 9 位小数得到 0.000000001，而 DecimalFormat 得到 0.000000000；
+ * 另外整数部分超过 17 位有效数字时，这里以最短数字补零输出，与 DecimalFormat 的数字也可能不同。
+ * <p>
+ * 解析时，有效数字不超过 19 位的数值采用 Eisel-Lemire 算法，直接由 128 位的 10 的幂次近似值得到正确舍入的结果；
+ * 少数无法确定舍入方向的情况，以及更长的数字，再交给 JDK 解析。
+ * <p>
+ * 所有方法都支持直接读写 char[]、byte[] 以及 StringBuilder，不需要创建中间字符串；
+ * 格式化时先写入每个线程复用的缓冲区，再复制到目标中，因此除了返回的字符串以外不创建任何对象。
+ * 固定精度格式化超过 long 范围的数值时，会借助 BigDecimal 完成，这种情况很少见。
+ */
+public final class DoubleCodec {
+    private DoubleCodec() {
+        // no instances
+    }
+
+    /**
+     * 最短格式化的最大长度，比如 -2.2250738585072014E-308。
+     */
+    public static final int MAX_LENGTH = 24;
+    /**
+     * 固定精度格式化支持的最大小数位数。
+     */
+    public static final int MAX_SCALE = 17;
+
+    /**
+     * 固定精度格式化的最大长度：负号、Double.MAX_VALUE 的 309 位整数部分、小数点以及小数部分。
+     */
+    private static final int BUFFER_SIZE = 1 + 309 + 1 + MAX_SCALE;
+    /**
+     * 每个线程复用的格式化缓冲区。
+     */
+    private static final ThreadLocal<Buffer> BUFFERS = ThreadLocal.withInitial(Buffer::new);
+
+    private static final long[] POWERS_OF_TEN = new long[19];
+    /**
+     * 10 的 0 ~ 22 次方都可以用 double 精确表示。
+     */
+    private static final double[] DOUBLE_POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22,
+    };
+
+    /*
+     * Schubfach 的参数，参考 Raffaello Giulietti 的 The Schubfach way to render doubles。
+     */
+    private static final int P = 53;
+    private static final int Q_MIN = -1074;
+    private static final long C_MIN = 1L << (P - 1);
+    private static final int C_TINY = 3;
+    private static final int K_MIN = -324;
+    private static final int K_MAX = 292;
+    private static final long MASK_63 = (1L << 63) - 1;
+    /**
+     * 对于 K_MIN <= k <= K_MAX，令 10^-k = beta * 2^r，其中 2^125 <= beta < 2^126，g = floor(beta) + 1，
+     * 按照高 63 位、低 63 位的顺序保存 g。
+     */
+    private static final long[] G = new long[(K_MAX - K_MIN + 1) * 2];
+
+    /*
+     * Eisel-Lemire 的参数，10^q 截断到 128 位的近似值，最高位为 1，按照高 64 位、低 64 位的顺序保存。
+     */
+    private static final int E10_MIN = -342;
+    private static final int E10_MAX = 308;
+    private static final long[] POW10_128 = new long[(E10_MAX - E10_MIN + 1) * 2];
+
+    static {
+        POWERS_OF_TEN[0] = 1L;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+
+        for (int k = K_MIN; k <= K_MAX; k++) {
+            BigInteger g;
+            if (k <= 0) {
+                BigInteger n = BigInteger.TEN.pow(-k);
+                int r = n.bitLength() - 126;
+                g = r >= 0 ? n.shiftRight(r) : n.shiftLeft(-r);
+            } else {
+                BigInteger d = BigInteger.TEN.pow(k);
+                g = BigInteger.ONE.shiftLeft(125 + d.bitLength()).divide(d);
+            }
+            g = g.add(BigInteger.ONE);
+            int index = (k - K_MIN) * 2;
+            G[index] = g.shiftRight(63).longValue();
+            G[index + 1] = g.longValue() & MASK_63;
+        }
+
+        for (int q = E10_MIN; q <= E10_MAX; q++) {
+            BigInteger v;
+            if (q >= 0) {
+                BigInteger n = BigInteger.TEN.pow(q);
+                int shift = n.bitLength() - 128;
+                v = shift >= 0 ? n.shiftRight(shift) : n.shiftLeft(-shift);
+            } else {
+                BigInteger d = BigInteger.TEN.pow(-q);
+                v = BigInteger.ONE.shiftLeft(127 + d.bitLength()).divide(d);
+            }
+            int index = (q - E10_MIN) * 2;
+            POW10_128[index] = v.shiftRight(64).longValue();
+            POW10_128[index + 1] = v.longValue();
+        }
+    }
+
+    /**
+     * 最短格式化。
+     * <pre>
+     *     toString(0.1)   == "0.1"
+     *     toString(2e-3)  == "0.002"
+     *     toString(1e7)   == "1.0E7"
+     *     toString(2e23)  == "2.0E23"
+     * </pre>
+     *
+     * @param value 双精度浮点数。
+     * @return 能够原样解析回来的最短字符串，格式与 {@link Double#toString(double)} 相同。
+     */
+    public static String toString(double value) {
+        Buffer buffer = BUFFERS.get();
+        int length = writeShortest(value, buffer);
+        return new String(buffer.chars, 0, length);
+    }
+
+    /**
+     * 最短格式化，追加到 StringBuilder 中。
+     *
+     * @param builder 目标。
+     * @param value   双精度浮点数。
+     * @return 目标本身。
+     */
+    public static StringBuilder append(StringBuilder builder, double value) {
+        Preconditions.checkNotNull(builder, "builder == null");
+        Buffer buffer = BUFFERS.get();
+        int length = writeShortest(value, buffer);
+        return builder.append(buffer.chars, 0, length);
+    }
+
+    /**
+     * 最短格式化，直接写入目标数组。
+     *
+     * @param value 双精度浮点数。
+     * @param dest  目标数组，从 off 开始最多需要 {@link #MAX_LENGTH} 个字符的空间。
+     * @param off   写入的起始位置。
+     * @return 写入的字符数量。
+     */
+    public static int format(double value, char[] dest, int off) {
+        Preconditions.checkNotNull(dest, "dest == null");
+        Buffer buffer = BUFFERS.get();
+        int length = writeShortest(value, buffer);
+        Preconditions.checkPositionIndexes(off, off + length, dest.length);
+        System.arraycopy(buffer.chars, 0, dest, off, length);
+        return length;
+    }
+
+    /**
+     * 最短格式化，以 ASCII 编码直接写入目标数组。
+     *
+     * @param value 双精度浮点数。
+     * @param dest  目标数组，从 off 开始最多需要 {@link #MAX_LENGTH} 个字节的空间。
+     * @param off   写入的起始位置。
+     * @return 写入的字节数量。
+     */
+    public static int format(double value, byte[] dest, int off) {
+        Preconditions.checkNotNull(dest, "dest == null");
+        Buffer buffer = BUFFERS.get();
+        int length = writeShortest(value, buffer);
+        Preconditions.checkPositionIndexes(off, off + length, dest.length);
+        writeAscii(buffer.chars, length, dest, off);
+        return length;
+    }
+
+    /**
+     * 固定精度格式化。
+     * <pre>
+     *     toFixed(1.5, 0)          == "2"
+     *     toFixed(0.125, 2)        == "0.12"
+     *     toFixed(-0.0001, 3)      == "-0.000"
+     *     toFixed(116.397128, 9)   == "116.397128000"
+     * </pre>
+     *
+     * @param value 有限的双精度浮点数。
+     * @param scale 小数位数，范围 0 ~ {@link #MAX_SCALE}。
+     * @return 保留 scale 位小数的字符串，负数舍入为 0 时依然保留负号。
+     */
+    public static String toFixed(double value, int scale) {
+        Buffer buffer = BUFFERS.get();
+        int length = writeFixed(value, scale, buffer);
+        return new String(buffer.chars, 0, length);
+    }
+
+    /**
+     * 固定精度格式化，追加到 StringBuilder 中。
+     *
+     * @param builder 目标。
+     * @param value   有限的双精度浮点数。
+     * @param scale   小数位数，范围 0 ~ {@link #MAX_SCALE}。
+     * @return 目标本身。
+     */
+    public static StringBuilder appendFixed(StringBuilder builder, double value, int scale) {
+        Preconditions.checkNotNull(builder, "builder == null");
+        Buffer buffer = BUFFERS.get();
+        int length = writeFixed(value, scale, buffer);
+        return builder.append(buffer.chars, 0, length);
+    }
+
+    /**
+     * 固定精度格式化，直接写入目标数组。
+     *
+     * @param value 有限的双精度浮点数。
+     * @param scale 小数位数，范围 0 ~ {@link #MAX_SCALE}。
+     * @param dest  目标数组，需要有足够的空间。
+     * @param off   写入的起始位置。
+     * @return 写入的字符数量。
+     */
+    public static int formatFixed(double value, int scale, char[] dest, int off) {
+        Preconditions.checkNotNull(dest, "dest == null");
+        Buffer buffer = BUFFERS.get();
+        int length = writeFixed(value, scale, buffer);
+        Preconditions.checkPositionIndexes(off, off + length, dest.length);
+        System.arraycopy(buffer.chars, 0, dest, off, length);
+        return length;
+    }
+
+    /**
+     * 固定精度格式化，以 ASCII 编码直接写入目标数组。
+     *
+     * @param value 有限的双精度浮点数。
+     * @param scale 小数位数，范围 0 ~ {@link #MAX_SCALE}。
+     * @param dest  目标数组，需要有足够的空间。
+     * @param off   写入的起始位置。
+     * @return 写入的字节数量。
+     */
+    public static int formatFixed(double value, int scale, byte[] dest, int off) {
+        Preconditions.checkNotNull(dest, "dest == null");
+        Buffer buffer = BUFFERS.get();
+        int length = writeFixed(value, scale, buffer);
+        Preconditions.checkPositionIndexes(off, off + length, dest.length);
+        writeAscii(buffer.chars, length, dest, off);
+        return length;
+    }
+
+    /**
+     * 从字符序列的指定区间解析双精度浮点数，语法与 {@link Double#parseDouble(String)} 一致，但不会抛出异常。
+     *
+     * @param source       字符序列。
+     * @param off          起始位置。
+     * @param len          长度。
+     * @param defaultValue 解析失败时返回的默认值。
+     * @return 双精度浮点数。
+     */
+    public static double parse(CharSequence source, int off, int len, double defaultValue) {
+        Preconditions.checkNotNull(source, "source == null");
+        Preconditions.checkPositionIndexes(off, off + len, source.length());
+        return NumberParsers.parseDouble(source, off, len, defaultValue);
+    }
+
+    /**
+     * 从字符数组的指定区间解析双精度浮点数。
+     *
+     * @param source       字符数组。
+     * @param off          起始位置。
+     * @param len          长度。
+     * @param defaultValue 解析失败时返回的默认值。
+     * @return 双精度浮点数。
+     */
+    public static double parse(char[] source, int off, int len, double defaultValue) {
+        Preconditions.checkNotNull(source, "source == null");
+        Preconditions.checkPositionIndexes(off, off + len, source.length);
+        return NumberParsers.parseDouble(source, off, len, defaultValue);
+    }
+
+    /**
+     * 从 ASCII 字节数组的指定区间解析双精度浮点数。
+     *
+     * @param source       字节数组。
+     * @param off          起始位置。
+     * @param len          长度。
+     * @param defaultValue 解析失败时返回的默认值。
+     * @return 双精度浮点数。
+     */
+    public static double parse(byte[] source, int off, int len, double defaultValue) {
+        Preconditions.checkNotNull(source, "source == null");
+        Preconditions.checkPositionIndexes(off, off + len, source.length);
+        return NumberParsers.parseDouble(source, off, len, defaultValue);
+    }
+
+    /**
+     * 将 mantissa * 10^exponent 转换为双精度浮点数，mantissa 视为无符号数，最多 19 位十进制数字。
+     * <p>
+     * 无法快速确定正确舍入的结果时返回 NaN，由调用者交给 JDK 解析。
+     */
+    static double toDouble(boolean negative, long mantissa, int digits, int exponent) {
+        if (mantissa == 0) {
+            return negative ? -0.0d : 0.0d;
+        }
+        // Clinger 快速路径：mantissa 和 10 的幂次都可以精确表示，一次运算即可正确舍入
+        if (digits <= 15 && exponent >= -22 && exponent <= 22) {
+            double value = exponent < 0
+                    ? mantissa / DOUBLE_POWERS_OF_TEN[-exponent]
+                    : mantissa * DOUBLE_POWERS_OF_TEN[exponent];
+            return negative ? -value : value;
+        }
+        if (digits > 19 || exponent < E10_MIN || exponent > E10_MAX) {
+            return Double.NaN;
+        }
+        return eiselLemire(negative, mantissa, exponent);
+    }
+
+    /*
+     * 参考 Daniel Lemire 的 Number Parsing at a Gigabyte per Second，以及 Go 语言 strconv 包的实现。
+     */
+    private static double eiselLemire(boolean negative, long mantissa, int exponent) {
+        int index = (exponent - E10_MIN) * 2;
+        int clz = Long.numberOfLeadingZeros(mantissa);
+        long man = mantissa << clz;
+        long exp2 = (217706L * exponent >> 16) + 64 + 1023 - clz;
+
+        long xHi = unsignedMultiplyHigh(man, POW10_128[index]);
+        long xLo = man * POW10_128[index];
+        // 截断误差可能影响舍入，再乘上低 64 位
+        if ((xHi & 0x1FF) == 0x1FF && Long.compareUnsigned(xLo + man, man) < 0) {
+            long yHi = unsignedMultiplyHigh(man, POW10_128[index + 1]);
+            long yLo = man * POW10_128[index + 1];
+            long mergedHi = xHi;
+            long mergedLo = xLo + yHi;
+            if (Long.compareUnsigned(mergedLo, xLo) < 0) {
+                mergedHi++;
+            }
+            if ((mergedHi & 0x1FF) == 0x1FF && mergedLo + 1 == 0 && Long.compareUnsigned(yLo + man, man) < 0) {
+                return Double.NaN;
+            }
+            xHi = mergedHi;
+            xLo = mergedLo;
+        }
+
+        long msb = xHi >>> 63;
+        long result = xHi >>> (msb + 9);
+        exp2 -= 1 ^ msb;
+        // 刚好处于两个浮点数的中间，无法确定舍入方向
+        if (xLo == 0 && (xHi & 0x1FF) == 0 && (result & 3) == 1) {
+            return Double.NaN;
+        }
+        result += result & 1;
+        result >>>= 1;
+        if (result >>> 53 > 0) {
+            result >>>= 1;
+            exp2++;
+        }
+        // 非规格化数以及溢出都交给 JDK 处理
+        if (exp2 <= 0 || exp2 >= 0x7FF) {
+            return Double.NaN;
+        }
+        long bits = exp2 << 52 | result & ((1L << 52) - 1);
+        if (negative) {
+            bits |= Long.MIN_VALUE;
+        }
+        return Double.longBitsToDouble(bits);
+    }
+
+    private static int writeShortest(double value, Buffer buffer) {
+        char[] dest = buffer.chars;
+        long bits = Double.doubleToRawLongBits(value);
+        int bq = (int) (bits >>> 52) & 0x7FF;
+        long t = bits & (C_MIN - 1);
+        if (bq == 0x7FF) {
+            return writeString(t != 0 ? "NaN" : bits < 0 ? "-Infinity" : "Infinity", dest, 0);
+        }
+        int pos = 0;
+        if (bits < 0) {
+            dest[pos++] = '-';
+        }
+        if (bq == 0 && t == 0) {
+            return writeString("0.0", dest, pos);
+        }
+        Decimal decimal = buffer.decimal.of(bq, t);
+        return writeJavaFormat(decimal.f, decimal.e, dest, pos);
+    }
+
+    /*
+     * 与 Double.toString 相同的格式：10^-3 <= |v| < 10^7 时使用普通格式，否则使用科学计数法。
+     */
+    private static int writeJavaFormat(long f, int e, char[] dest, int pos) {
+        while (f % 10 == 0) {
+            f /= 10;
+            e++;
+        }
+        int n = decimalLength(f);
+        int exp = e + n - 1;
+        if (exp >= -3 && exp < 7) {
+            if (exp < 0) {
+                dest[pos++] = '0';
+                dest[pos++] = '.';
+                for (int i = exp + 1; i < 0; i++) {
+                    dest[pos++] = '0';
+                }
+                return writeDigits(f, n, dest, pos);
+            }
+            int integerDigits = exp + 1;
+            if (n <= integerDigits) {
+                pos = writeDigits(f, n, dest, pos);
+                for (int i = n; i < integerDigits; i++) {
+                    dest[pos++] = '0';
+                }
+                dest[pos++] = '.';
+                dest[pos++] = '0';
+                return pos;
+            }
+            long divisor = POWERS_OF_TEN[n - integerDigits];
+            pos = writeDigits(f / divisor, integerDigits, dest, pos);
+            dest[pos++] = '.';
+            return writeDigits(f % divisor, n - integerDigits, dest, pos);
+        }
+
+        long divisor = POWERS_OF_TEN[n - 1];
+        dest[pos++] = (char) ('0' + f / divisor);
+        dest[pos++] = '.';
+        if (n > 1) {
+            pos = writeDigits(f % divisor, n - 1, dest, pos);
+        } else {
+            dest[pos++] = '0';
+        }
+        dest[pos++] = 'E';
+        if (exp < 0) {
+            dest[pos++] = '-';
+            exp = -exp;
+        }
+        return writeDigits(exp, decimalLength(exp), dest, pos);
+    }
+
+    private static int writeFixed(double value, int scale, Buffer buffer) {
+        Preconditions.checkArgument(scale >= 0 && scale <= MAX_SCALE,
+                "scale %s must be in [0, %s].", scale, MAX_SCALE);
+        Preconditions.checkArgument(!Double.isNaN(value) && !Double.isInfinite(value),
+                "value %s must be finite.", value);
+
+        long bits = Double.doubleToRawLongBits(value);
+        boolean negative = bits < 0;
+        int bq = (int) (bits >>> 52) & 0x7FF;
+        long t = bits & (C_MIN - 1);
+        long f = 0;
+        int e = 0;
+        if (bq != 0 || t != 0) {
+            Decimal decimal = buffer.decimal.of(bq, t);
+            f = decimal.f;
+            e = decimal.e;
+        }
+
+        long q;
+        int drop = -scale - e;
+        if (drop <= 0) {
+            // 最短数字的位数不超过 scale，不需要舍入
+            int up = -drop;
+            if (up >= POWERS_OF_TEN.length || f > Long.MAX_VALUE / POWERS_OF_TEN[up]) {
+                String plain = BigDecimal.valueOf(f, -e).setScale(scale, RoundingMode.UNNECESSARY).toPlainString();
+                int pos = 0;
+                if (negative) {
+                    buffer.chars[pos++] = '-';
+                }
+                return writeString(plain, buffer.chars, pos);
+            }
+            q = f * POWERS_OF_TEN[up];
+        } else if (drop >= POWERS_OF_TEN.length) {
+            q = 0;
+        } else {
+            long divisor = POWERS_OF_TEN[drop];
+            q = f / divisor;
+            long remainder = f % divisor;
+            long half = divisor >> 1;
+            if (remainder > half || remainder == half && roundTieUp(value, f, e, q)) {
+                q++;
+            }
+        }
+
+        long scaled = POWERS_OF_TEN[scale];
+        long integer = q / scaled;
+        int integerDigits = decimalLength(integer);
+        char[] chars = buffer.chars;
+        int pos = 0;
+        if (negative) {
+            chars[pos++] = '-';
+        }
+        pos = writeDigits(integer, integerDigits, chars, pos);
+        if (scale > 0) {
+            chars[pos++] = '.';
+            pos = writeDigits(q % scaled, scale, chars, pos);
+        }
+        return pos;
+    }
+
+    /*
+     * 最短数字刚好落在舍入的中点时，根据精确的二进制值判断：
+     * 最短数字比精确值大说明已经向上舍入过，不再进位；比精确值小则进位；相等时取偶数。
+     */
+    private static boolean roundTieUp(double value, long f, int e, long q) {
+        int compare = new BigDecimal(Math.abs(value)).compareTo(BigDecimal.valueOf(f, -e));
+        return compare > 0 || compare == 0 && (q & 1) == 1;
+    }
+
+    private static void writeAscii(char[] chars, int length, byte[] dest, int off) {
+        for (int i = 0; i < length; i++) {
+            dest[off + i] = (byte) chars[i];
+        }
+    }
+
+    private static int writeString(String text, char[] dest, int pos) {
+        text.getChars(0, text.length(), dest, pos);
+        return pos + text.length();
+    }
+
+    private static int writeDigits(long value, int count, char[] dest, int pos) {
+        for (int i = pos + count - 1; i >= pos; i--) {
+            dest[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return pos + count;
+    }
+
+    private static int decimalLength(long value) {
+        int length = 1;
+        while (length < POWERS_OF_TEN.length && value >= POWERS_OF_TEN[length]) {
+            length++;
+        }
+        return length;
+    }
+
+    /*
+     * The high 64 bits of the unsigned 128-bit product, Math.multiplyHigh is not available on Java 8.
+     */
+    private static long unsignedMultiplyHigh(long x, long y) {
+        long x0 = x & 0xFFFFFFFFL;
+        long x1 = x >>> 32;
+        long y0 = y & 0xFFFFFFFFL;
+        long y1 = y >>> 32;
+        long w0 = x0 * y0;
+        long t = x1 * y0 + (w0 >>> 32);
+        long w1 = (t & 0xFFFFFFFFL) + x0 * y1;
+        return x1 * y1 + (t >>> 32) + (w1 >>> 32);
+    }
+
+    /**
+     * 每个线程的格式化缓冲区。
+     */
+    private static final class Buffer {
+        final char[] chars = new char[BUFFER_SIZE];
+        final Decimal decimal = new Decimal();
+    }
+
+    /**
+     * 最短的十进制表示：f * 10^e。
+     */
+    private static final class Decimal {
+        long f;
+        int e;
+
+        /**
+         * 计算最短的十进制表示，结果保存在当前实例中。
+         */
+        Decimal of(int bq, long t) {
+            if (bq != 0) {
+                int mq = -Q_MIN + 1 - bq;
+                long c = C_MIN | t;
+                // 整数的快速路径
+                if (0 < mq && mq < P) {
+                    long f = c >> mq;
+                    if (f << mq == c) {
+                        set(f, 0);
+                        return this;
+                    }
+                }
+                toDecimal(-mq, c, 0);
+            } else if (t < C_TINY) {
+                toDecimal(Q_MIN, 10 * t, -1);
+            } else {
+                toDecimal(Q_MIN, t, 0);
+            }
+            return this;
+        }
+
+        private void toDecimal(int q, long c, int dk) {
+            int out = (int) c & 1;
+            long cb = c << 2;
+            long cbr = cb + 2;
+            long cbl;
+            int k;
+            // 除了 2 的整数次幂以外，左右两侧的间隔相同
+            if (c != C_MIN | q == Q_MIN) {
+                cbl = cb - 2;
+                k = flog10pow2(q);
+            } else {
+                cbl = cb - 1;
+                k = flog10threeQuartersPow2(q);
+            }
+            int h = q + flog2pow10(-k) + 2;
+
+            int index = (k - K_MIN) * 2;
+            long g1 = G[index];
+            long g0 = G[index + 1];
+
+            long vb = rop(g1, g0, cb << h);
+            long vbl = rop(g1, g0, cbl << h);
+            long vbr = rop(g1, g0, cbr << h);
+
+            long s = vb >> 2;
+            if (s >= 100) {
+                // 优先尝试少一位数字的结果
+                long sp10 = 10 * unsignedMultiplyHigh(s, 115_292_150_460_684_698L << 4);
+                long tp10 = sp10 + 10;
+                boolean upin = vbl + out <= sp10 << 2;
+                boolean wpin = (tp10 << 2) + out <= vbr;
+                if (upin != wpin) {
+                    set(upin ? sp10 : tp10, k);
+                    return;
+                }
+            }
+
+            long t = s + 1;
+            boolean uin = vbl + out <= s << 2;
+            boolean win = (t << 2) + out <= vbr;
+            if (uin != win) {
+                set(uin ? s : t, k + dk);
+                return;
+            }
+            // 两者都在舍入区间内，取更接近的一个
+            long cmp = vb - (s + t << 1);
+            set(cmp < 0 || cmp == 0 && (s & 1) == 0 ? s : t, k + dk);
+        }
+
+        private void set(long f, int e) {
+            this.f = f;
+            this.e = e;
+        }
+
+        private static long rop(long g1, long g0, long cp) {
+            long x1 = unsignedMultiplyHigh(g0, cp);
+            long y0 = g1 * cp;
+            long y1 = unsignedMultiplyHigh(g1, cp);
+            long z = (y0 >>> 1) + x1;
+            long vbp = y1 + (z >>> 63);
+            return vbp | (z & MASK_63) + MASK_63 >>> 63;
+        }
+
+        private static int flog10pow2(int e) {
+            return (int) (e * 661_971_961_083L >> 41);
+        }
+
+        private static int flog10threeQuartersPow2(int e) {
+            return (int) (e * 661_971_961_083L + -274_743_187_321L >> 41);
+        }
+
+        private static int flog2pow10(int e) {
+            return (int) (e * 913_124_641_741L >> 38);
+        }
+    }
+}
@@ -0,0 +1,354 @@
+package com.github.mrzhqiang.helper.math;
+
+import javax.annotation.Nullable;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 不抛出异常的数字解析器。
+ * <p>
+ * JDK 解析器遇到无效内容时会抛出 NumberFormatException，而填充异常堆栈的开销远远大于解析本身；
+ * 这里逐个字符扫描，遇到无效内容直接返回默认值，并且只在指定的区间内读取，不需要截取子串。
+ * <p>
+ * 解析内容可以是 CharSequence、char[] 或者 ASCII 字节数组，数组直接按下标读取，不需要包装；
+ * 扫描状态都保存在局部变量中，因此解析过程不创建任何对象。
+ * <p>
+ * 整数的语法与 {@link Long#parseLong(String)} 一致；浮点数的语法与 {@link Double#parseDouble(String)} 一致，
+ * 其中十六进制浮点数以及快速路径无法处理的浮点数，会创建字符串交给 JDK 解析。
+ */
+final class NumberParsers {
+    private NumberParsers() {
+        // no instances
+    }
+
+    /**
+     * 10 的 0 ~ 10 次方都可以用 float 精确表示。
+     */
+    private static final float[] FLOAT_POWERS = {
+            1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f,
+    };
+    private static final int MAX_EXPONENT = 100_000;
+
+    /**
+     * 解析 [min, max] 范围内的整数，语法无效或超出范围则返回默认值。
+     *
+     * @param source CharSequence、char[] 或者 ASCII 字节数组。
+     */
+    static long parseLong(Object source, int off, int len, long min, long max, long defaultValue) {
+        return parseLong(source, off, len, min, max, defaultValue, null);
+    }
+
+    /**
+     * 解析 [min, max] 范围内的整数，语法无效或超出范围则返回默认值；解析成功时将 status 标记为有效。
+     *
+     * @param source CharSequence、char[] 或者 ASCII 字节数组。
+     */
+    static long parseLong(Object source, int off, int len, long min, long max, long defaultValue,
+                          @Nullable Status status) {
+        if (len <= 0) {
+            return defaultValue;
+        }
+        int i = off;
+        int end = off + len;
+        boolean negative = false;
+        // 与 JDK 一样以负数累加，这样 Long.MIN_VALUE 也不会溢出
+        long limit = -max;
+        char first = charAt(source, i);
+        if (first == '-') {
+            negative = true;
+            limit = min;
+            i++;
+        } else if (first == '+') {
+            i++;
+        }
+        if (i == end) {
+            return defaultValue;
+        }
+        long multiplyMin = limit / 10;
+        long result = 0;
+        while (i < end) {
+            int digit = digit(charAt(source, i++));
+            if (digit < 0 || result < multiplyMin) {
+                return defaultValue;
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                return defaultValue;
+            }
+            result -= digit;
+        }
+        if (status != null) {
+            status.valid = true;
+        }
+        return negative ? result : -result;
+    }
+
+    /**
+     * 解析双精度浮点数，语法无效则返回默认值。
+     * <p>
+     * 有效数字不超过 19 位时，由 {@link DoubleCodec} 直接得到正确舍入的结果；
+     * 其他情况在确认语法有效之后再交给 JDK 解析，因此不会抛出异常。
+     *
+     * @param source CharSequence、char[] 或者 ASCII 字节数组。
+     */
+    static double parseDouble(Object source, int off, int len, double defaultValue) {
+        return parseDecimal(source, off, len, defaultValue, false, null);
+    }
+
+    /**
+     * 解析双精度浮点数，语法无效则返回默认值；解析成功时将 status 标记为有效。
+     *
+     * @param source CharSequence、char[] 或者 ASCII 字节数组。
+     */
+    static double parseDouble(Object source, int off, int len, double defaultValue, @Nullable Status status) {
+        return parseDecimal(source, off, len, defaultValue, false, status);
+    }
+
+    /**
+     * 解析单精度浮点数，语法无效则返回默认值。
+     *
+     * @param source CharSequence、char[] 或者 ASCII 字节数组。
+     */
+    static float parseFloat(Object source, int off, int len, float defaultValue) {
+        return (float) parseDecimal(source, off, len, defaultValue, true, null);
+    }
+
+    /**
+     * 判断是否符合 {@link BigDecimal#BigDecimal(String)} 的语法。
+     */
+    static boolean isDecimal(CharSequence source, int off, int len) {
+        int i = off;
+        int end = off + len;
+        if (i < end && (source.charAt(i) == '-' || source.charAt(i) == '+')) {
+            i++;
+        }
+        int digits = 0;
+        boolean point = false;
+        for (; i < end; i++) {
+            char c = source.charAt(i);
+            if (c == '.' && !point) {
+                point = true;
+            } else if (digit(c) >= 0) {
+                digits++;
+            } else {
+                break;
+            }
+        }
+        if (digits == 0) {
+            return false;
+        }
+        if (i < end && (source.charAt(i) == 'e' || source.charAt(i) == 'E')) {
+            i++;
+            if (i < end && (source.charAt(i) == '-' || source.charAt(i) == '+')) {
+                i++;
+            }
+            int exponentDigits = 0;
+            while (i < end && digit(source.charAt(i)) >= 0) {
+                exponentDigits++;
+                i++;
+            }
+            if (exponentDigits == 0) {
+                return false;
+            }
+        }
+        return i == end;
+    }
+
+    private static String toString(Object source, int off, int len) {
+        if (source instanceof byte[]) {
+            return new String((byte[]) source, off, len, StandardCharsets.ISO_8859_1);
+        }
+        if (source instanceof char[]) {
+            return new String((char[]) source, off, len);
+        }
+        if (source instanceof String && off == 0 && len == ((String) source).length()) {
+            return (String) source;
+        }
+        return ((CharSequence) source).subSequence(off, off + len).toString();
+    }
+
+    private static char charAt(Object source, int index) {
+        if (source instanceof String) {
+            return ((String) source).charAt(index);
+        }
+        if (source instanceof byte[]) {
+            return (char) (((byte[]) source)[index] & 0xFF);
+        }
+        if (source instanceof char[]) {
+            return ((char[]) source)[index];
+        }
+        return ((CharSequence) source).charAt(index);
+    }
+
+    private static int digit(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        // JDK 同样接受全角数字等 Unicode 数字
+        return c < 0x80 ? -1 : Character.digit(c, 10);
+    }
+
+    /**
+     * 按照 {@link Double#valueOf(String)} 的语法扫描并解析，结果表示为 mantissa * 10^exponent；
+     * single 为 true 时按照单精度浮点数舍入，返回值可以无损转换为 float。
+     */
+    private static double parseDecimal(Object source, int off, int len, double defaultValue,
+                                       boolean single, @Nullable Status status) {
+        int i = off;
+        int end = off + len;
+        // 与 JDK 一样忽略首尾的空白字符
+        while (i < end && charAt(source, i) <= ' ') {
+            i++;
+        }
+        while (end > i && charAt(source, end - 1) <= ' ') {
+            end--;
+        }
+        if (i == end) {
+            return defaultValue;
+        }
+
+        boolean negative = false;
+        char c = charAt(source, i);
+        if (c == '-' || c == '+') {
+            negative = c == '-';
+            i++;
+        }
+        if (regionEquals(source, i, end, "NaN")) {
+            return valid(status, Double.NaN);
+        }
+        if (regionEquals(source, i, end, "Infinity")) {
+            return valid(status, negative ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY);
+        }
+        if (i + 1 < end && charAt(source, i) == '0'
+                && (charAt(source, i + 1) == 'x' || charAt(source, i + 1) == 'X')) {
+            // 十六进制浮点数很少见，直接交给 JDK 解析
+            try {
+                return valid(status, jdkParse(source, off, len, single));
+            } catch (NumberFormatException ignored) {
+            }
+            return defaultValue;
+        }
+
+        long mantissa = 0;
+        int digits = 0;
+        int fraction = 0;
+        boolean point = false;
+        boolean any = false;
+        for (; i < end; i++) {
+            c = charAt(source, i);
+            if (c == '.' && !point) {
+                point = true;
+                continue;
+            }
+            if (c < '0' || c > '9') {
+                break;
+            }
+            any = true;
+            if (point) {
+                fraction++;
+            }
+            if (digits == 0 && c == '0') {
+                // 忽略前导零
+                continue;
+            }
+            if (digits < 19) {
+                mantissa = mantissa * 10 + (c - '0');
+            } else {
+                // 超过 19 位的数字只记录数量级，这种情况不会走快速路径
+                fraction--;
+            }
+            digits++;
+        }
+        if (!any) {
+            return defaultValue;
+        }
+
+        int exponent = 0;
+        if (i < end && (charAt(source, i) == 'e' || charAt(source, i) == 'E')) {
+            i++;
+            boolean negativeExponent = false;
+            if (i < end && (charAt(source, i) == '-' || charAt(source, i) == '+')) {
+                negativeExponent = charAt(source, i) == '-';
+                i++;
+            }
+            int start = i;
+            while (i < end && charAt(source, i) >= '0' && charAt(source, i) <= '9') {
+                if (exponent < MAX_EXPONENT) {
+                    exponent = exponent * 10 + (charAt(source, i) - '0');
+                }
+                i++;
+            }
+            if (i == start) {
+                return defaultValue;
+            }
+            if (negativeExponent) {
+                exponent = -exponent;
+            }
+        }
+        if (i < end) {
+            c = charAt(source, i);
+            if (c != 'f' && c != 'F' && c != 'd' && c != 'D') {
+                return defaultValue;
+            }
+            i++;
+        }
+        if (i != end) {
+            return defaultValue;
+        }
+        exponent -= fraction;
+
+        if (single) {
+            if (mantissa == 0 && digits == 0) {
+                return valid(status, negative ? -0.0f : 0.0f);
+            }
+            if (digits <= 7 && exponent >= -10 && exponent <= 10) {
+                float value = exponent < 0
+                        ? mantissa / FLOAT_POWERS[-exponent]
+                        : mantissa * FLOAT_POWERS[exponent];
+                return valid(status, negative ? -value : value);
+            }
+        } else if (digits <= 19) {
+            double value = DoubleCodec.toDouble(negative, mantissa, digits, exponent);
+            if (!Double.isNaN(value)) {
+                return valid(status, value);
+            }
+        }
+        try {
+            return valid(status, jdkParse(source, off, len, single));
+        } catch (NumberFormatException ignored) {
+            // 语法已经确认有效，不应该到达这里
+        }
+        return defaultValue;
+    }
+
+    private static double jdkParse(Object source, int off, int len, boolean single) {
+        String text = toString(source, off, len);
+        return single ? Float.parseFloat(text) : Double.parseDouble(text);
+    }
+
+    private static double valid(@Nullable Status status, double value) {
+        if (status != null) {
+            status.valid = true;
+        }
+        return value;
+    }
+
+    private static boolean regionEquals(Object source, int start, int end, String expected) {
+        if (end - start != expected.length()) {
+            return false;
+        }
+        for (int i = 0; i < expected.length(); i++) {
+            if (charAt(source, start + i) != expected.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 解析状态，用于区分解析结果与默认值相同的情况，这样一次扫描就能确定内容是否有效。
+     */
+    static final class Status {
+        boolean valid;
+    }
+}
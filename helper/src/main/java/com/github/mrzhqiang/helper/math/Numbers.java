@@ -1,12 +1,19 @@
 package com.github.mrzhqiang.helper.math;
 
+import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
 
 import javax.annotation.Nullable;
 import java.math.BigDecimal;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
 
 /**
  * 数字工具。
+ * <p>
+ * 所有的解析方法都不会抛出 NumberFormatException，无效内容直接返回默认值；
+ * 除了 String 以外，还支持在 CharSequence、char[] 以及 byte[] 的指定区间内解析，不需要截取子串。
  */
 public final class Numbers {
     private Numbers() {
@@ -61,11 +68,84 @@ public final class Numbers {
             return defaultValue;
         }
 
-        try {
-            return Integer.parseInt(number);
-        } catch (NumberFormatException ignored) {
+        return ofInt(number, 0, number.length(), defaultValue);
+    }
+
+    /**
+     * 从字符序列的指定区间转换 integer 值，转换失败则使用默认值。
+     *
+     * @param source       字符序列。
+     * @param off          起始位置。
+     * @param len          长度。
+     * @param defaultValue 默认返回的整型数字。
+     * @return 整型数字。
+     */
+    public static int ofInt(@Nullable CharSequence source, int off, int len, int defaultValue) {
+        if (source == null) {
+            return defaultValue;
         }
-        return defaultValue;
+        Preconditions.checkPositionIndexes(off, off + len, source.length());
+        return (int) NumberParsers.parseLong(source, off, len, Integer.MIN_VALUE, Integer.MAX_VALUE, defaultValue);
+    }
+
+    /**
+     * 从字符数组的指定区间转换 integer 值，转换失败则使用默认值。
+     *
+     * @param source       字符数组。
+     * @param off          起始位置。
+     * @param len          长度。
+     * @param defaultValue 默认返回的整型数字。
+     * @return 整型数字。
+     */
+    public static int ofInt(@Nullable char[] source, int off, int len, int defaultValue) {
+        if (source == null) {
+            return defaultValue;
+        }
+        Preconditions.checkPositionIndexes(off, off + len, source.length);
+        return (int) NumberParsers.parseLong(source, off, len, Integer.MIN_VALUE, Integer.MAX_VALUE, defaultValue);
+    }
+
+    /**
+     * 从 ASCII 字节数组的指定区间转换 integer 值，转换失败则使用默认值。
+     * <p>
+     * 适用于直接解析 CSV 列、HTTP 参数等原始字节。
+     *
+     * @param source       字节数组。
+     * @param off          起始位置。
+     * @param len          长度。
+     * @param defaultValue 默认返回的整型数字。
+     * @return 整型数字。
+     */
+    public static int ofInt(@Nullable byte[] source, int off, int len, int defaultValue) {
+        if (source == null) {
+            return defaultValue;
+        }
+        Preconditions.checkPositionIndexes(off, off + len, source.length);
+        return (int) NumberParsers.parseLong(source, off, len, Integer.MIN_VALUE, Integer.MAX_VALUE, defaultValue);
+    }
+
+    /**
+     * 尝试转换 integer 值。
+     * <pre>
+     *     parseInt(null) == OptionalInt.empty()
+     *     parseInt("a")  == OptionalInt.empty()
+     *     parseInt("1")  == OptionalInt.of(1)
+     * </pre>
+     *
+     * @param source 字符序列。
+     * @return 可选的整型数字，转换失败则为空。
+     */
+    public static OptionalInt parseInt(@Nullable CharSequence source) {
+        if (source == null) {
+            return OptionalInt.empty();
+        }
+        NumberParsers.Status status = new NumberParsers.Status();
+        int value = (int) NumberParsers.parseLong(source, 0, source.length(),
+                Integer.MIN_VALUE, Integer.MAX_VALUE, 0, status);
+        if (status.valid) {
+            return OptionalInt.of(value);
+        }
+        return OptionalInt.empty();
     }
 
     /**
@@ -100,11 +180,76 @@ public final class Numbers {
             return defaultValue;
         }
 
-        try {
-            return Long.parseLong(number);
-        } catch (NumberFormatException ignored) {
+        return ofLong(number, 0, number.length(), defaultValue);
+    }
+
+    /**
+     * 从字符序列的指定区间转换 long 值，转换失败则使用默认值。
+     *
+     * @param source       字符序列。
+     * @param off          起始位置。
+     * @param len          长度。
+     * @param defaultValue 默认返回的长整型数字。
+     * @return 长整型数字。
+     */
+    public static long ofLong(@Nullable CharSequence source, int off, int len, long defaultValue) {
+        if (source == null) {
+            return defaultValue;
         }
-        return defaultValue;
+        Preconditions.checkPositionIndexes(off, off + len, source.length());
+        return NumberParsers.parseLong(source, off, len, Long.MIN_VALUE, Long.MAX_VALUE, defaultValue);
+    }
+
+    /**
+     * 从字符数组的指定区间转换 long 值，转换失败则使用默认值。
+     *
+     * @param source       字符数组。
+     * @param off          起始位置。
+     * @param len          长度。
+     * @param defaultValue 默认返回的长整型数字。
+     * @return 长整型数字。
+     */
+    public static long ofLong(@Nullable char[] source, int off, int len, long defaultValue) {
+        if (source == null) {
+            return defaultValue;
+        }
+        Preconditions.checkPositionIndexes(off, off + len, source.length);
+        return NumberParsers.parseLong(source, off, len, Long.MIN_VALUE, Long.MAX_VALUE, defaultValue);
+    }
+
+    /**
+     * 从 ASCII 字节数组的指定区间转换 long 值，转换失败则使用默认值。
+     *
+     * @param source       字节数组。
+     * @param off          起始位置。
+     * @param len          长度。
+     * @param defaultValue 默认返回的长整型数字。
+     * @return 长整型数字。
+     */
+    public static long ofLong(@Nullable byte[] source, int off, int len, long defaultValue) {
+        if (source == null) {
+            return defaultValue;
+        }
+        Preconditions.checkPositionIndexes(off, off + len, source.length);
+        return NumberParsers.parseLong(source, off, len, Long.MIN_VALUE, Long.MAX_VALUE, defaultValue);
+    }
+
+    /**
+     * 尝试转换 long 值。
+     *
+     * @param source 字符序列。
+     * @return 可选的长整型数字，转换失败则为空。
+     */
+    public static OptionalLong parseLong(@Nullable CharSequence source) {
+        if (source == null) {
+            return OptionalLong.empty();
+        }
+        NumberParsers.Status status = new NumberParsers.Status();
+        long value = NumberParsers.parseLong(source, 0, source.length(), Long.MIN_VALUE, Long.MAX_VALUE, 0L, status);
+        if (status.valid) {
+            return OptionalLong.of(value);
+        }
+        return OptionalLong.empty();
     }
 
     /**
@@ -139,11 +284,7 @@ public final class Numbers {
             return defaultValue;
         }
 
-        try {
-            return Float.parseFloat(number);
-        } catch (NumberFormatException ignored) {
-        }
-        return defaultValue;
+        return NumberParsers.parseFloat(number, 0, number.length(), defaultValue);
     }
 
     /**
@@ -178,11 +319,67 @@ public final class Numbers {
             return defaultValue;
         }
 
-        try {
-            return Double.parseDouble(number);
-        } catch (NumberFormatException ignored) {
+        return ofDouble(number, 0, number.length(), defaultValue);
+    }
+
+    /**
+     * 从字符序列的指定区间转换 double 值，转换失败则使用默认值。
+     *
+     * @param source       字符序列。
+     * @param off          起始位置。
+     * @param len          长度。
+     * @param defaultValue 默认返回的双精度浮点型数字。
+     * @return 双精度浮点型数字。
+     */
+    public static double ofDouble(@Nullable CharSequence source, int off, int len, double defaultValue) {
+        if (source == null) {
+            return defaultValue;
         }
-        return defaultValue;
+        return DoubleCodec.parse(source, off, len, defaultValue);
+    }
+
+    /**
+     * 从字符数组的指定区间转换 double 值，转换失败则使用默认值。
+     *
+     * @param source       字符数组。
+     * @param off          起始位置。
+     * @param len          长度。
+     * @param defaultValue 默认返回的双精度浮点型数字。
+     * @return 双精度浮点型数字。
+     */
+    public static double ofDouble(@Nullable char[] source, int off, int len, double defaultValue) {
+        return source == null ? defaultValue : DoubleCodec.parse(source, off, len, defaultValue);
+    }
+
+    /**
+     * 从 ASCII 字节数组的指定区间转换 double 值，转换失败则使用默认值。
+     *
+     * @param source       字节数组。
+     * @param off          起始位置。
+     * @param len          长度。
+     * @param defaultValue 默认返回的双精度浮点型数字。
+     * @return 双精度浮点型数字。
+     */
+    public static double ofDouble(@Nullable byte[] source, int off, int len, double defaultValue) {
+        return source == null ? defaultValue : DoubleCodec.parse(source, off, len, defaultValue);
+    }
+
+    /**
+     * 尝试转换 double 值。
+     *
+     * @param source 字符序列。
+     * @return 可选的双精度浮点型数字，转换失败则为空。
+     */
+    public static OptionalDouble parseDouble(@Nullable CharSequence source) {
+        if (source == null) {
+            return OptionalDouble.empty();
+        }
+        NumberParsers.Status status = new NumberParsers.Status();
+        double value = NumberParsers.parseDouble(source, 0, source.length(), 0.0d, status);
+        if (status.valid) {
+            return OptionalDouble.of(value);
+        }
+        return OptionalDouble.empty();
     }
 
     /**
@@ -246,11 +443,8 @@ public final class Numbers {
             return defaultValue;
         }
 
-        try {
-            return Byte.parseByte(number);
-        } catch (NumberFormatException ignored) {
-        }
-        return defaultValue;
+        return (byte) NumberParsers.parseLong(number, 0, number.length(),
+                Byte.MIN_VALUE, Byte.MAX_VALUE, defaultValue);
     }
 
     /**
@@ -285,11 +479,8 @@ public final class Numbers {
             return defaultValue;
         }
 
-        try {
-            return Short.parseShort(number);
-        } catch (NumberFormatException ignored) {
-        }
-        return defaultValue;
+        return (short) NumberParsers.parseLong(number, 0, number.length(),
+                Short.MIN_VALUE, Short.MAX_VALUE, defaultValue);
     }
 
     /**
@@ -318,9 +509,13 @@ public final class Numbers {
             return defaultValue;
         }
 
+        if (!NumberParsers.isDecimal(source, 0, source.length())) {
+            return defaultValue;
+        }
         try {
             return new BigDecimal(source);
-        } catch (Exception ignored) {
+        } catch (NumberFormatException ignored) {
+            // 语法有效，但是指数超出了 int 范围
         }
         return defaultValue;
     }
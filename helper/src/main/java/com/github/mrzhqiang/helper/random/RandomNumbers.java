@@ -1,5 +1,7 @@
 package com.github.mrzhqiang.helper.random;
 
+import com.google.common.base.Preconditions;
+
 import java.util.concurrent.ThreadLocalRandom;
 
 /**
@@ -15,6 +17,8 @@ public final class RandomNumbers {
         // no instances
     }
 
+    private static final double DOUBLE_UNIT = 0x1.0p-53;
+
     /**
      * Next random integer value.
      *
@@ -119,4 +123,172 @@ public final class RandomNumbers {
     public static boolean nextBoolean() {
         return ThreadLocalRandom.current().nextBoolean();
     }
+
+    /**
+     * Fills the array with random integer values from 0 to bound - 1.
+     * <p>
+     * Uses Lemire's multiply-shift method: one 32-bit draw and one multiplication per value,
+     * a division only happens in the rare case that a draw may be rejected.
+     *
+     * @param dest  the array to fill.
+     * @param bound the upper bound (exclusive). Must be positive.
+     */
+    public static void fill(int[] dest, int bound) {
+        Preconditions.checkNotNull(dest, "dest == null");
+        Preconditions.checkArgument(bound > 0, "bound %s must be > 0.", bound);
+        fillBounded(dest, 0, bound);
+    }
+
+    /**
+     * Fills the array with random integer values from min to max.
+     *
+     * @param dest the array to fill.
+     * @param min  min value.
+     * @param max  max value.
+     * @see #rangeInt(int, int)
+     */
+    public static void fill(int[] dest, int min, int max) {
+        Preconditions.checkNotNull(dest, "dest == null");
+        if (min > max) {
+            min = max;
+        }
+        // [min, max] contains at most 2^32 values
+        fillBounded(dest, min, (long) max - min + 1);
+    }
+
+    /**
+     * Fills the array with random long values from 0 to bound - 1.
+     *
+     * @param dest  the array to fill.
+     * @param bound the upper bound (exclusive). Must be positive.
+     * @see #fill(int[], int)
+     */
+    public static void fill(long[] dest, long bound) {
+        Preconditions.checkNotNull(dest, "dest == null");
+        Preconditions.checkArgument(bound > 0, "bound %s must be > 0.", bound);
+        fillBounded(dest, 0, bound);
+    }
+
+    /**
+     * Fills the array with random long values from min to max.
+     *
+     * @param dest the array to fill.
+     * @param min  min value.
+     * @param max  max value.
+     * @see #rangeLong(long, long)
+     */
+    public static void fill(long[] dest, long min, long max) {
+        Preconditions.checkNotNull(dest, "dest == null");
+        if (min > max) {
+            min = max;
+        }
+        // unsigned, 0 means the whole 2^64 range
+        fillBounded(dest, min, max - min + 1);
+    }
+
+    /**
+     * Fills the array with random double values from 0 to bound (exclusive).
+     *
+     * @param dest  the array to fill.
+     * @param bound the upper bound (exclusive). Must be positive.
+     */
+    public static void fill(double[] dest, double bound) {
+        fill(dest, 0.0, bound);
+    }
+
+    /**
+     * Fills the array with random double values from origin to bound (exclusive).
+     *
+     * @param dest   the array to fill.
+     * @param origin the least value.
+     * @param bound  the upper bound (exclusive). Must be greater than origin.
+     */
+    public static void fill(double[] dest, double origin, double bound) {
+        Preconditions.checkNotNull(dest, "dest == null");
+        Preconditions.checkArgument(origin < bound && bound - origin < Double.POSITIVE_INFINITY,
+                "bound %s must be > origin %s.", bound, origin);
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        double range = bound - origin;
+        for (int i = 0; i < dest.length; i++) {
+            // 53 random bits, the same as Random.nextDouble
+            double value = (random.nextLong() >>> 11) * DOUBLE_UNIT * range + origin;
+            // rounding may produce bound itself
+            dest[i] = value < bound ? value : Math.nextDown(bound);
+        }
+    }
+
+    /*
+     * range is an unsigned 32-bit count in (0, 2^32].
+     */
+    private static void fillBounded(int[] dest, int origin, long range) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (range > 0xFFFFFFFFL) {
+            for (int i = 0; i < dest.length; i++) {
+                dest[i] = random.nextInt();
+            }
+            return;
+        }
+        long threshold = -1;
+        for (int i = 0; i < dest.length; i++) {
+            long product = (random.nextInt() & 0xFFFFFFFFL) * range;
+            long low = product & 0xFFFFFFFFL;
+            if (low < range) {
+                if (threshold < 0) {
+                    // 2^32 mod range
+                    threshold = (1L << 32) % range;
+                }
+                while (low < threshold) {
+                    product = (random.nextInt() & 0xFFFFFFFFL) * range;
+                    low = product & 0xFFFFFFFFL;
+                }
+            }
+            dest[i] = origin + (int) (product >>> 32);
+        }
+    }
+
+    /*
+     * range is an unsigned 64-bit count, 0 means 2^64.
+     */
+    private static void fillBounded(long[] dest, long origin, long range) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (range == 0) {
+            for (int i = 0; i < dest.length; i++) {
+                dest[i] = random.nextLong();
+            }
+            return;
+        }
+        long threshold = 0;
+        boolean computed = false;
+        for (int i = 0; i < dest.length; i++) {
+            long x = random.nextLong();
+            long low = x * range;
+            if (Long.compareUnsigned(low, range) < 0) {
+                if (!computed) {
+                    // 2^64 mod range
+                    threshold = Long.remainderUnsigned(-range, range);
+                    computed = true;
+                }
+                while (Long.compareUnsigned(low, threshold) < 0) {
+                    x = random.nextLong();
+                    low = x * range;
+                }
+            }
+            dest[i] = origin + unsignedMultiplyHigh(x, range);
+        }
+    }
+
+    /*
+     * The high 64 bits of the unsigned 128-bit product, Math.multiplyHigh is not available on Java 8.
+     */
+    private static long unsignedMultiplyHigh(long x, long y) {
+        long x0 = x & 0xFFFFFFFFL;
+        long x1 = x >>> 32;
+        long y0 = y & 0xFFFFFFFFL;
+        long y1 = y >>> 32;
+        long w0 = x0 * y0;
+        long t = x1 * y0 + (w0 >>> 32);
+        long w1 = (t & 0xFFFFFFFFL) + x0 * y1;
+        return x1 * y1 + (t >>> 32) + (w1 >>> 32);
+    }
 }
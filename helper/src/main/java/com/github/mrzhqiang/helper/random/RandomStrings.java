@@ -1,10 +1,18 @@
 package com.github.mrzhqiang.helper.random;
 
 import com.google.common.base.Preconditions;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import com.typesafe.config.Config;
 import com.typesafe.config.ConfigFactory;
 
 import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongSupplier;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 /**
  * 随机字符串工具。
@@ -73,9 +81,31 @@ public final class RandomStrings {
     public static final String CHARS = CONFIG.getString("chars");
 
     private static final Config CHINESE = CONFIG.getConfig("chinese");
-    private static final List<String> NORMAL = CHINESE.getStringList("normal");
     private static final List<String> SURNAME = CHINESE.getStringList("surname");
 
+    private static final Alphabet CHARS_ALPHABET = new Alphabet(CHARS.toCharArray());
+    private static final Alphabet NUMBER_ALPHABET = new Alphabet(NUMBER.toCharArray());
+    // 首字符不为 0 的数字表
+    private static final Alphabet NON_ZERO_ALPHABET = new Alphabet(NUMBER.substring(1).toCharArray());
+    private static final Alphabet LOWER_CASE_ALPHABET = new Alphabet(LOWER_CASE.toCharArray());
+    private static final Alphabet UPPER_CASE_ALPHABET = new Alphabet(UPPER_CASE.toCharArray());
+    // 常用汉字的码点在加载时一次性解析，而不是每个字符都调用 Integer.decode
+    private static final int[] CHINESE_CODE_POINTS = CHINESE.getStringList("normal").stream()
+            .mapToInt(Integer::decode)
+            .toArray();
+    private static final Alphabet CHINESE_ALPHABET = new Alphabet(toChars(CHINESE_CODE_POINTS));
+
+    /**
+     * 缓存的自定义字符表数量上限。
+     */
+    private static final int MAX_CUSTOM_ALPHABETS = 256;
+    /**
+     * 自定义字符表缓存，同一个自定义字符串只需要构建一次字符表；数量有上限，动态拼接的字符串不会导致内存泄漏。
+     */
+    private static final LoadingCache<String, Alphabet> CUSTOM_ALPHABETS = CacheBuilder.newBuilder()
+            .maximumSize(MAX_CUSTOM_ALPHABETS)
+            .build(CacheLoader.from(custom -> new Alphabet(custom.toCharArray())));
+
     /**
      * 通过指定长度，生成随机字符序列。
      *
@@ -86,11 +116,7 @@ public final class RandomStrings {
         Preconditions.checkArgument(length > 0,
                 "length %s must be > 0.", length);
 
-        StringBuilder builder = new StringBuilder(length);
-        for (int i = 0; i < length; i++) {
-            builder.append(CHARS.charAt(RandomNumbers.nextInt(CHARS.length())));
-        }
-        return builder.toString();
+        return CHARS_ALPHABET.newString(length);
     }
 
     /**
@@ -105,6 +131,18 @@ public final class RandomStrings {
         return ofLength(length);
     }
 
+    /**
+     * 生成随机字符序列，直接写入目标数组。
+     *
+     * @param dest 目标数组。
+     * @param off  写入的起始位置。
+     * @param len  写入的字符数量。
+     */
+    public static void ofLength(char[] dest, int off, int len) {
+        checkRange(dest, off, len);
+        CHARS_ALPHABET.fill(dest, off, len);
+    }
+
     /**
      * 通过指定长度，生成随机汉字序列。
      *
@@ -115,12 +153,7 @@ public final class RandomStrings {
         Preconditions.checkArgument(length > 0,
                 "length %s must be > 0.", length);
 
-        StringBuilder builder = new StringBuilder(length);
-        for (int i = 0; i < length; i++) {
-            Integer codePoint = Integer.decode(NORMAL.get(RandomNumbers.nextInt(NORMAL.size())));
-            builder.append(Character.toChars(codePoint));
-        }
-        return builder.toString();
+        return CHINESE_ALPHABET.newString(length);
     }
 
     /**
@@ -135,6 +168,18 @@ public final class RandomStrings {
         return ofChinese(length);
     }
 
+    /**
+     * 生成随机汉字序列，直接写入目标数组。
+     *
+     * @param dest 目标数组。
+     * @param off  写入的起始位置。
+     * @param len  写入的汉字数量。
+     */
+    public static void ofChinese(char[] dest, int off, int len) {
+        checkRange(dest, off, len);
+        CHINESE_ALPHABET.fill(dest, off, len);
+    }
+
     /**
      * 生成随机姓氏。
      *
@@ -154,13 +199,9 @@ public final class RandomStrings {
         Preconditions.checkArgument(length > 0,
                 "length %s must be > 0.", length);
 
-        StringBuilder builder = new StringBuilder(length);
-        // 第一个数字不为 0
-        builder.append(NUMBER.substring(1).charAt(RandomNumbers.nextInt(NUMBER.length() - 1)));
-        for (int i = 1; i < length; i++) {
-            builder.append(NUMBER.charAt(RandomNumbers.nextInt(NUMBER.length())));
-        }
-        return builder.toString();
+        char[] chars = new char[length];
+        fillNumber(chars, 0, length);
+        return new String(chars);
     }
 
     /**
@@ -175,6 +216,20 @@ public final class RandomStrings {
         return ofNumber(length);
     }
 
+    /**
+     * 生成随机数字序列，直接写入目标数组。
+     * <p>
+     * 与 {@link #ofNumber(int)} 一致，写入的第一个数字不为 0。
+     *
+     * @param dest 目标数组。
+     * @param off  写入的起始位置。
+     * @param len  写入的数字数量。
+     */
+    public static void ofNumber(char[] dest, int off, int len) {
+        checkRange(dest, off, len);
+        fillNumber(dest, off, len);
+    }
+
     /**
      * 通过指定长度，生成随机小写字母序列的字符串。
      *
@@ -185,11 +240,7 @@ public final class RandomStrings {
         Preconditions.checkArgument(length > 0,
                 "length %s must be > 0.", length);
 
-        StringBuilder builder = new StringBuilder(length);
-        for (int i = 0; i < length; i++) {
-            builder.append(LOWER_CASE.charAt(RandomNumbers.nextInt(LOWER_CASE.length())));
-        }
-        return builder.toString();
+        return LOWER_CASE_ALPHABET.newString(length);
     }
 
     /**
@@ -204,6 +255,18 @@ public final class RandomStrings {
         return ofLowerCase(length);
     }
 
+    /**
+     * 生成随机小写字母序列，直接写入目标数组。
+     *
+     * @param dest 目标数组。
+     * @param off  写入的起始位置。
+     * @param len  写入的字母数量。
+     */
+    public static void ofLowerCase(char[] dest, int off, int len) {
+        checkRange(dest, off, len);
+        LOWER_CASE_ALPHABET.fill(dest, off, len);
+    }
+
     /**
      * 通过指定长度，生成随机大写字母序列的字符串。
      *
@@ -214,11 +277,7 @@ public final class RandomStrings {
         Preconditions.checkArgument(length > 0,
                 "length %s must be > 0.", length);
 
-        StringBuilder builder = new StringBuilder(length);
-        for (int i = 0; i < length; i++) {
-            builder.append(UPPER_CASE.charAt(RandomNumbers.nextInt(UPPER_CASE.length())));
-        }
-        return builder.toString();
+        return UPPER_CASE_ALPHABET.newString(length);
     }
 
     /**
@@ -233,6 +292,18 @@ public final class RandomStrings {
         return ofUpperCase(length);
     }
 
+    /**
+     * 生成随机大写字母序列，直接写入目标数组。
+     *
+     * @param dest 目标数组。
+     * @param off  写入的起始位置。
+     * @param len  写入的字母数量。
+     */
+    public static void ofUpperCase(char[] dest, int off, int len) {
+        checkRange(dest, off, len);
+        UPPER_CASE_ALPHABET.fill(dest, off, len);
+    }
+
     /**
      * 从自定义字符串中，生成指定长度的随机字符内容。
      *
@@ -246,11 +317,23 @@ public final class RandomStrings {
                 "length %s must be > 0.", length);
         Preconditions.checkArgument(!custom.isEmpty(), "custom cannot be empty");
 
-        StringBuilder builder = new StringBuilder(length);
-        for (int i = 0; i < length; i++) {
-            builder.append(custom.charAt(RandomNumbers.nextInt(custom.length())));
-        }
-        return builder.toString();
+        return CUSTOM_ALPHABETS.getUnchecked(custom).newString(length);
+    }
+
+    /**
+     * 从自定义字符串中生成随机字符，直接写入目标数组。
+     *
+     * @param custom 自定义字符串。
+     * @param dest   目标数组。
+     * @param off    写入的起始位置。
+     * @param len    写入的字符数量。
+     */
+    public static void ofCustom(String custom, char[] dest, int off, int len) {
+        Preconditions.checkNotNull(custom, "custom == null");
+        Preconditions.checkArgument(!custom.isEmpty(), "custom cannot be empty");
+        checkRange(dest, off, len);
+
+        CUSTOM_ALPHABETS.getUnchecked(custom).fill(dest, off, len);
     }
 
     /**
@@ -279,6 +362,117 @@ public final class RandomStrings {
         return ofCustom(custom, length);
     }
 
+    /**
+     * 批量生成随机字符串的并行流。
+     * <p>
+     * 种子随机，每次调用的结果都不同。
+     *
+     * @param kind   字符串种类。
+     * @param length 每个字符串的长度，必须大于 0。
+     * @param count  字符串数量，必须大于等于 0。
+     * @return 随机字符串的并行流。
+     * @see #stream(Kind, int, long, long)
+     */
+    public static Stream<String> stream(Kind kind, int length, long count) {
+        return stream(kind, length, count, RandomNumbers.nextLong());
+    }
+
+    /**
+     * 批量生成随机字符串的并行流。
+     * <p>
+     * 适用于压力测试、初始化测试数据等需要生成海量随机字符串的场景。第 i 个字符串由 seed 和 i 共同派生的
+     * {@link SplittableRandom} 生成，不依赖任何共享状态，因此可以在多个核心上并行扩展；
+     * 并且无论以何种并行度执行，同样的 seed 总是得到同样的结果。
+     * <p>
+     * 如果不需要并行，可以调用 {@link Stream#sequential()} 方法。
+     *
+     * @param kind   字符串种类。
+     * @param length 每个字符串的长度，必须大于 0。
+     * @param count  字符串数量，必须大于等于 0。
+     * @param seed   随机种子。
+     * @return 随机字符串的并行流。
+     */
+    public static Stream<String> stream(Kind kind, int length, long count, long seed) {
+        Preconditions.checkNotNull(kind, "kind == null");
+        Preconditions.checkArgument(length > 0,
+                "length %s must be > 0.", length);
+        Preconditions.checkArgument(count >= 0,
+                "count %s must be >= 0.", count);
+
+        return LongStream.range(0, count).parallel().mapToObj(index -> {
+            // 种子先经过混淆，避免相邻序号的 SplittableRandom 序列相互错位重叠
+            SplittableRandom random = new SplittableRandom(mix64(seed + index * 0x9E3779B97F4A7C15L));
+            char[] chars = new char[length];
+            fill(kind, random::nextLong, chars, 0, length);
+            return new String(chars);
+        });
+    }
+
+    /**
+     * 随机字符串种类。
+     */
+    public enum Kind {
+        /**
+         * 大小写字母，数字，特殊字符。
+         *
+         * @see #ofLength(int)
+         */
+        CHARS,
+        /**
+         * 数字，首字符不为 0。
+         *
+         * @see #ofNumber(int)
+         */
+        NUMBER,
+        /**
+         * 小写字母。
+         *
+         * @see #ofLowerCase(int)
+         */
+        LOWER_CASE,
+        /**
+         * 大写字母。
+         *
+         * @see #ofUpperCase(int)
+         */
+        UPPER_CASE,
+        /**
+         * 常用汉字。
+         *
+         * @see #ofChinese(int)
+         */
+        CHINESE,
+    }
+
+    private static void fill(Kind kind, LongSupplier random, char[] dest, int off, int len) {
+        switch (kind) {
+            case CHARS:
+                CHARS_ALPHABET.fill(random, dest, off, len);
+                break;
+            case NUMBER:
+                NON_ZERO_ALPHABET.fill(random, dest, off, 1);
+                NUMBER_ALPHABET.fill(random, dest, off + 1, len - 1);
+                break;
+            case LOWER_CASE:
+                LOWER_CASE_ALPHABET.fill(random, dest, off, len);
+                break;
+            case UPPER_CASE:
+                UPPER_CASE_ALPHABET.fill(random, dest, off, len);
+                break;
+            case CHINESE:
+                CHINESE_ALPHABET.fill(random, dest, off, len);
+                break;
+            default:
+                throw new IllegalArgumentException("unsupported kind: " + kind);
+        }
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
     private static int checkBound(int min, int max) {
         Preconditions.checkArgument(min > 0,
                 "min length %s must be > 0.", min);
@@ -289,4 +483,75 @@ public final class RandomStrings {
 
         return RandomNumbers.rangeInt(min, max);
     }
+
+    private static void checkRange(char[] dest, int off, int len) {
+        Preconditions.checkNotNull(dest, "dest == null");
+        Preconditions.checkPositionIndexes(off, off + len, dest.length);
+    }
+
+    private static void fillNumber(char[] dest, int off, int len) {
+        if (len > 0) {
+            // 第一个数字不为 0
+            NON_ZERO_ALPHABET.fill(dest, off, 1);
+            NUMBER_ALPHABET.fill(dest, off + 1, len - 1);
+        }
+    }
+
+    private static char[] toChars(int[] codePoints) {
+        char[] chars = new char[codePoints.length];
+        for (int i = 0; i < codePoints.length; i++) {
+            Preconditions.checkState(Character.isBmpCodePoint(codePoints[i]),
+                    "chinese code point %s must be in BMP.", codePoints[i]);
+            chars[i] = (char) codePoints[i];
+        }
+        return chars;
+    }
+
+    /**
+     * 预先计算好的字符表。
+     * <p>
+     * 每次从 {@link ThreadLocalRandom}（或者流中的 {@link SplittableRandom}）取出 64 位随机数，按照字符表大小所需的位数切片，每一片映射到一个字符。
+     * 切片值超出字符表大小时直接丢弃（拒绝采样），因此每个字符的概率完全相同，没有取模带来的偏差。
+     * <p>
+     * 比如 10 个数字需要 4 位，一个 64 位随机数可以切出 16 片，平均产出 10 个数字。
+     */
+    private static final class Alphabet {
+        final char[] chars;
+        final int bits;
+        final long mask;
+
+        Alphabet(char[] chars) {
+            this.chars = chars;
+            this.bits = 32 - Integer.numberOfLeadingZeros(chars.length - 1);
+            this.mask = (1L << bits) - 1;
+        }
+
+        String newString(int length) {
+            char[] dest = new char[length];
+            fill(dest, 0, length);
+            return new String(dest);
+        }
+
+        void fill(char[] dest, int off, int len) {
+            fill(ThreadLocalRandom.current()::nextLong, dest, off, len);
+        }
+
+        void fill(LongSupplier random, char[] dest, int off, int len) {
+            int size = chars.length;
+            long bucket = 0;
+            int remaining = 0;
+            for (int i = off, end = off + len; i < end; ) {
+                if (remaining < bits) {
+                    bucket = random.getAsLong();
+                    remaining = Long.SIZE;
+                }
+                int index = (int) (bucket & mask);
+                bucket >>>= bits;
+                remaining -= bits;
+                if (index < size) {
+                    dest[i++] = chars[index];
+                }
+            }
+        }
+    }
 }
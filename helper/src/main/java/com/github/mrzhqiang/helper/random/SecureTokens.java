@@ -0,0 +1,195 @@
+package com.github.mrzhqiang.helper.random;
+
+import com.google.common.base.Preconditions;
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+
+import java.security.SecureRandom;
+
+/**
+ * 安全随机令牌工具。
+ * <p>
+ * {@link RandomStrings} 基于 {@link java.util.concurrent.ThreadLocalRandom}，输出可以被预测，
+ * 不适合重置密码令牌、验证码等安全场景；而每次调用都 new SecureRandom() 又会反复初始化种子，开销较大。
+ * <p>
+ * 此工具为每个线程保留一个 {@link SecureRandom} 实例，并以较大的字节缓冲区批量获取随机字节，
+ * 后续调用直接从缓冲区中消费，缓冲区耗尽时再一次性填充。
+ * <p>
+ * 字节映射到字符表时采用拒绝采样：超出字符表大小整数倍的字节直接丢弃，因此每个字符的概率完全相同。
+ * <p>
+ * 关于配置设定：
+ * <pre>
+ *   helper {
+ *     random {
+ *       secure {
+ *         buffer = 1024
+ *       }
+ *     }
+ *   }
+ * </pre>
+ */
+public final class SecureTokens {
+    private SecureTokens() {
+        // no instances
+    }
+
+    private static final Config CONFIG = ConfigFactory.load().getConfig("helper.random.secure");
+    private static final int BUFFER_SIZE = Math.max(CONFIG.getInt("buffer"), Integer.BYTES);
+
+    /**
+     * URL 安全的令牌字符表，即 Base64 URL 字符表。
+     * <p>
+     * 大小刚好为 64，每个字节取 6 位即可，不需要拒绝。
+     */
+    public static final String TOKEN = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+
+    private static final ThreadLocal<Buffer> BUFFER = ThreadLocal.withInitial(Buffer::new);
+
+    /**
+     * 生成指定长度的 URL 安全令牌。
+     * <p>
+     * 每个字符包含 6 位熵，比如 32 个字符即 192 位。
+     *
+     * @param length 指定长度，必须大于 0。
+     * @return 令牌字符串，仅包含：大小写字母，数字，以及 - 和 _ 字符。
+     */
+    public static String ofToken(int length) {
+        return ofCustom(TOKEN, length);
+    }
+
+    /**
+     * 生成指定长度的随机数字字符串。
+     * <p>
+     * 与 {@link RandomStrings#ofNumber(int)} 不同，首字符可以为 0，适用于邮箱验证码等场景。
+     *
+     * @param length 指定长度，必须大于 0。
+     * @return 随机字符串，仅包含：数字。
+     */
+    public static String ofNumber(int length) {
+        return ofCustom(RandomStrings.NUMBER, length);
+    }
+
+    /**
+     * 从自定义字符串中，生成指定长度的安全随机字符内容。
+     *
+     * @param custom 自定义字符串。
+     * @param length 指定长度，必须大于 0。
+     * @return 随机字符内容，字符来自自定义字符串。
+     */
+    public static String ofCustom(String custom, int length) {
+        Preconditions.checkArgument(length > 0,
+                "length %s must be > 0.", length);
+
+        char[] chars = new char[length];
+        ofCustom(custom, chars, 0, length);
+        return new String(chars);
+    }
+
+    /**
+     * 从自定义字符串中生成安全随机字符，直接写入目标数组。
+     *
+     * @param custom 自定义字符串。
+     * @param dest   目标数组。
+     * @param off    写入的起始位置。
+     * @param len    写入的字符数量。
+     */
+    public static void ofCustom(String custom, char[] dest, int off, int len) {
+        Preconditions.checkNotNull(custom, "custom == null");
+        Preconditions.checkArgument(!custom.isEmpty(), "custom cannot be empty");
+        Preconditions.checkNotNull(dest, "dest == null");
+        Preconditions.checkPositionIndexes(off, off + len, dest.length);
+
+        Buffer buffer = BUFFER.get();
+        int size = custom.length();
+        for (int i = off, end = off + len; i < end; i++) {
+            dest[i] = custom.charAt(buffer.nextInt(size));
+        }
+    }
+
+    /**
+     * 安全随机字节。
+     *
+     * @param dest 目标数组，将被随机字节填满。
+     */
+    public static void nextBytes(byte[] dest) {
+        Preconditions.checkNotNull(dest, "dest == null");
+        BUFFER.get().nextBytes(dest);
+    }
+
+    /**
+     * 安全随机整数。
+     *
+     * @param bound 上限（不包含），必须大于 0。
+     * @return [0, bound) 范围内的整数。
+     */
+    public static int nextInt(int bound) {
+        Preconditions.checkArgument(bound > 0, "bound %s must be > 0.", bound);
+        return BUFFER.get().nextInt(bound);
+    }
+
+    /**
+     * 安全随机浮点数。
+     *
+     * @return [0, 1) 范围内的浮点数。
+     */
+    public static float nextFloat() {
+        // 与 Random.nextFloat 一致，取 24 位
+        return BUFFER.get().nextUnsigned(3) / (float) (1 << 24);
+    }
+
+    private static final class Buffer {
+        final SecureRandom random = new SecureRandom();
+        final byte[] bytes = new byte[BUFFER_SIZE];
+        int position = bytes.length;
+
+        int nextByte() {
+            if (position == bytes.length) {
+                random.nextBytes(bytes);
+                position = 0;
+            }
+            return bytes[position++] & 0xFF;
+        }
+
+        int nextUnsigned(int count) {
+            int result = 0;
+            for (int i = 0; i < count; i++) {
+                result = result << 8 | nextByte();
+            }
+            return result;
+        }
+
+        void nextBytes(byte[] dest) {
+            for (int i = 0; i < dest.length; ) {
+                if (position == bytes.length) {
+                    random.nextBytes(bytes);
+                    position = 0;
+                }
+                int n = Math.min(dest.length - i, bytes.length - position);
+                System.arraycopy(bytes, position, dest, i, n);
+                position += n;
+                i += n;
+            }
+        }
+
+        /*
+         * 不超过 256 时每次消费 1 个字节，否则消费 4 个字节取 31 位；超出 bound 整数倍的部分拒绝后重新获取。
+         */
+        int nextInt(int bound) {
+            if (bound <= 256) {
+                int limit = 256 - 256 % bound;
+                int value;
+                do {
+                    value = nextByte();
+                } while (value >= limit);
+                return value % bound;
+            }
+            long range = 1L << 31;
+            long limit = range - range % bound;
+            long value;
+            do {
+                value = nextUnsigned(4) & 0x7FFFFFFFL;
+            } while (value >= limit);
+            return (int) (value % bound);
+        }
+    }
+}
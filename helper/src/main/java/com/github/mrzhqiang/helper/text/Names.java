@@ -9,8 +9,12 @@ import com.typesafe.config.ConfigFactory;
 
 import javax.annotation.Nullable;
 import javax.annotation.RegEx;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.regex.Pattern;
+import java.util.Map;
+import java.util.function.Predicate;
 
 /**
  * 名称工具。
@@ -21,6 +25,10 @@ import java.util.regex.Pattern;
  * <p>
  * 可以处理大部分字符，通常用来生成头像标签。
  * <p>
+ * 关于索引字母：
+ * <p>
+ * 英文字母取大写，汉字取拼音首字母，其他字符归入 {@link #OTHER_INITIAL}，通常用来生成通讯录的 A ~ Z 索引。
+ * <p>
  * 关于颜色：
  * <p>
  * 每个字符串都对应一组不同的颜色值。
@@ -32,6 +40,7 @@ import java.util.regex.Pattern;
  * 关于中文检测：
  * <p>
  * 通过 Unicode 的正则表达式范围进行判断，这个值可以从配置文件修正。
+ * 正则表达式由 {@link Validators} 编译并缓存，简单的字符范围会转换为预计算的字符匹配器。
  * <p>
  * 关于字符串检测：
  * <p>
@@ -44,6 +53,15 @@ public final class Names {
         // no instances
     }
 
+    /**
+     * 无法归入 A ~ Z 的索引字母。
+     */
+    public static final char OTHER_INITIAL = CommonSymbols.HASHTAG;
+
+    private static final int INITIAL_COUNT = 27;
+    private static final Comparator<String[]> INITIAL_KEY_ORDER =
+            Comparator.<String[], String>comparing(entry -> entry[1]).thenComparing(entry -> entry[0]);
+
     private static final Config CONFIG = ConfigFactory.load().getConfig("helper.name");
 
     private static final String DEFAULT_FIRST = CONFIG.getString("first");
@@ -52,6 +70,7 @@ public final class Names {
     private static final String DEFAULT_COLOR = COLORS.get(COLORS.size() - 1);
 
     private static final String REGEX_CHINESE = CONFIG.getString("regex.chinese");
+    private static final Predicate<CharSequence> CHINESE = Validators.of(REGEX_CHINESE);
 
     /**
      * 获取字符串的第一个字符（仅限于字母或数字，包括汉字）。
@@ -75,6 +94,91 @@ public final class Names {
         return DEFAULT_FIRST;
     }
 
+    /**
+     * 获取字符串的索引字母。
+     * <p>
+     * 取第一个字母或数字（包括汉字）：英文字母转为大写，汉字查表得到拼音首字母，其他情况返回 {@link #OTHER_INITIAL}。
+     *
+     * @param value 字符串。
+     * @return A ~ Z 之间的大写字母，或者 {@link #OTHER_INITIAL}。
+     */
+    public static char initial(String value) {
+        Preconditions.checkNotNull(value, "value == null");
+
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                return initial(c);
+            }
+        }
+        return OTHER_INITIAL;
+    }
+
+    /**
+     * 将名称按照索引字母分组，并在组内排序。
+     * <p>
+     * 每个名称只计算一次排序键（每个字符的索引字母），组内先按排序键、再按名称本身排序，
+     * 因此同一个姓氏的中文名称会排在一起。
+     *
+     * @param names 名称列表，不能包含 Null 值。
+     * @return 按照 A ~ Z、{@link #OTHER_INITIAL} 顺序排列的分组，不包含空的分组。
+     */
+    public static Map<Character, List<String>> groupByInitial(Iterable<String> names) {
+        Preconditions.checkNotNull(names, "names == null");
+
+        // 前 26 个桶对应 A ~ Z，最后一个桶对应其他字符
+        List<List<String[]>> buckets = new ArrayList<>(INITIAL_COUNT);
+        for (int i = 0; i < INITIAL_COUNT; i++) {
+            buckets.add(null);
+        }
+        StringBuilder key = new StringBuilder();
+        for (String name : names) {
+            Preconditions.checkNotNull(name, "name == null");
+            key.setLength(0);
+            for (int i = 0; i < name.length(); i++) {
+                char c = name.charAt(i);
+                if (Character.isLetterOrDigit(c)) {
+                    key.append(initial(c));
+                }
+            }
+            char first = key.length() > 0 ? key.charAt(0) : OTHER_INITIAL;
+            int index = first == OTHER_INITIAL ? INITIAL_COUNT - 1 : first - 'A';
+            List<String[]> bucket = buckets.get(index);
+            if (bucket == null) {
+                bucket = new ArrayList<>();
+                buckets.set(index, bucket);
+            }
+            // 排序键附加小写名称，让大小写不同的英文名称排在一起
+            bucket.add(new String[]{name, key.append(name.toLowerCase()).toString()});
+        }
+
+        Map<Character, List<String>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < INITIAL_COUNT; i++) {
+            List<String[]> bucket = buckets.get(i);
+            if (bucket == null) {
+                continue;
+            }
+            bucket.sort(INITIAL_KEY_ORDER);
+            List<String> group = new ArrayList<>(bucket.size());
+            for (String[] entry : bucket) {
+                group.add(entry[0]);
+            }
+            groups.put(i == INITIAL_COUNT - 1 ? OTHER_INITIAL : (char) ('A' + i), group);
+        }
+        return groups;
+    }
+
+    private static char initial(char c) {
+        if (c >= 'a' && c <= 'z') {
+            return (char) (c - 'a' + 'A');
+        }
+        if (c >= 'A' && c <= 'Z') {
+            return c;
+        }
+        char pinyin = PinyinInitials.of(c);
+        return pinyin != 0 ? pinyin : OTHER_INITIAL;
+    }
+
     /**
      * 获取字符串哈希值对应的预定义 ARGB 颜色常量。
      * <p>
@@ -154,7 +258,7 @@ public final class Names {
      * @return true 符合规则；false 字符串值为 Null 或者不符合规则。
      */
     public static boolean checkChinese(@Nullable String value, int min, int max) {
-        return checkString(REGEX_CHINESE, value, min, max);
+        return checkLength(value, min, max) && CHINESE.test(value);
     }
 
     /**
@@ -168,15 +272,15 @@ public final class Names {
      */
     public static boolean checkString(@RegEx String regex, @Nullable String value, int min, int max) {
         Preconditions.checkArgument(!Strings.isNullOrEmpty(regex), "invalid regex: %s", regex);
+        return checkLength(value, min, max) && Validators.of(regex).test(value);
+    }
+
+    private static boolean checkLength(@Nullable String value, int min, int max) {
         if (Strings.isNullOrEmpty(value)) {
             return false;
         }
 
         int length = value.length();
-        if ((min > 0 && length < min) || (max > 0 && length > max)) {
-            return false;
-        }
-
-        return Pattern.matches(regex, value);
+        return (min <= 0 || length >= min) && (max <= 0 || length <= max);
     }
 }
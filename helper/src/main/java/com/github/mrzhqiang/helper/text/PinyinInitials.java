@@ -0,0 +1,63 @@
+package com.github.mrzhqiang.helper.text;
+
+import com.google.common.io.Resources;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * 汉字拼音首字母表。
+ * <p>
+ * 资源文件 pinyin-initials.dat 覆盖 CJK 统一汉字（U+4E00 ~ U+9FFF），每个码点一个字节，
+ * 字节值就是拼音首字母的大写 ASCII 编码，0 表示没有收录。按码点直接下标访问，不需要引入完整的拼音库。
+ * <p>
+ * 数据来自 Unicode CLDR 的拼音排序规则（即 Unicode::Collate::CJK::Pinyin），多音字只收录其中一种读音，
+ * 不一定是姓氏的读音，比如“沈”收录为 chén、“单”收录为 dān。
+ * 由于这张表只用于名称的索引字母，加载时会用 {@link #SURNAMES} 覆盖常见姓氏的读音。
+ */
+final class PinyinInitials {
+    private PinyinInitials() {
+        // no instances
+    }
+
+    private static final char FIRST = '一';
+    private static final char LAST = '鿿';
+
+    /**
+     * 常见姓氏的多音字及其姓氏读音的首字母，每两个字符一组，优先于 CLDR 的数据。
+     * <p>
+     * 只收录姓氏读音同时也是常用读音、或者 CLDR 收录了罕见读音的汉字，
+     * 像“乐”、“蔚”这样在名字中常读作另一种读音的汉字保持不变。
+     */
+    private static final String SURNAMES = "沈S曾Z仇Q翟Z单S查Z解X覃Q区O阚K粘N佴N";
+
+    private static final byte[] TABLE = load();
+
+    /**
+     * 获取汉字的拼音首字母。
+     *
+     * @param c 字符。
+     * @return 大写的拼音首字母，如果不是收录的汉字，则返回 0。
+     */
+    static char of(char c) {
+        if (c < FIRST || c > LAST) {
+            return 0;
+        }
+        return (char) TABLE[c - FIRST];
+    }
+
+    private static byte[] load() {
+        try {
+            byte[] table = Resources.toByteArray(Resources.getResource(PinyinInitials.class, "pinyin-initials.dat"));
+            if (table.length != LAST - FIRST + 1) {
+                throw new IllegalStateException("invalid pinyin initials table, length: " + table.length);
+            }
+            for (int i = 0; i < SURNAMES.length(); i += 2) {
+                table[SURNAMES.charAt(i) - FIRST] = (byte) SURNAMES.charAt(i + 1);
+            }
+            return table;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
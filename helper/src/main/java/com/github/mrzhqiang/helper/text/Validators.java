@@ -0,0 +1,168 @@
+package com.github.mrzhqiang.helper.text;
+
+import com.google.common.base.CharMatcher;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Strings;
+import com.google.common.base.Throwables;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+import javax.annotation.Nullable;
+import javax.annotation.RegEx;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * 校验器注册表。
+ * <p>
+ * {@link Pattern#matches(String, CharSequence)} 每次调用都会重新编译正则表达式，
+ * 这里按照正则表达式缓存编译结果，同一个表达式只编译一次。
+ * 缓存最多保存 {@link #MAXIMUM_SIZE} 个表达式，超出后淘汰最近最少使用的表达式，
+ * 因此动态拼接的正则表达式不会导致内存泄漏，但是频繁变化的表达式也无法从缓存中受益。
+ * <p>
+ * 对于 [a-z0-9]+ 以及 [一-龥]* 这类单个字符类加上 + 或 * 的表达式，
+ * 直接转换为预计算的 {@link CharMatcher}，校验时只是一个查表循环，不再经过正则引擎。
+ * 其他表达式仍然使用编译后的 {@link Pattern}。
+ */
+public final class Validators {
+    private Validators() {
+        // no instances
+    }
+
+    /**
+     * 缓存的正则表达式数量上限。
+     */
+    private static final int MAXIMUM_SIZE = 1024;
+
+    private static final LoadingCache<String, Predicate<CharSequence>> REGISTRY = CacheBuilder.newBuilder()
+            .maximumSize(MAXIMUM_SIZE)
+            .build(CacheLoader.from(Validators::compile));
+
+    /**
+     * 获取正则表达式对应的校验器，校验器要求整个字符序列匹配。
+     *
+     * @param regex 正则表达式。
+     * @return 线程安全的校验器，表达式没有被淘汰时，相同的表达式返回同一个实例。
+     * @throws java.util.regex.PatternSyntaxException 正则表达式语法错误。
+     */
+    public static Predicate<CharSequence> of(@RegEx String regex) {
+        Preconditions.checkArgument(!Strings.isNullOrEmpty(regex), "invalid regex: %s", regex);
+        try {
+            return REGISTRY.getUnchecked(regex);
+        } catch (UncheckedExecutionException e) {
+            // 编译失败时抛出原始的异常，与 Pattern.compile 保持一致
+            Throwables.throwIfUnchecked(e.getCause());
+            throw e;
+        }
+    }
+
+    /**
+     * 检查字符序列是否完全匹配正则表达式。
+     *
+     * @param regex 正则表达式。
+     * @param value 字符序列，如果是 Null 则返回 false。
+     * @return true 匹配；false 字符序列为 Null 或者不匹配。
+     */
+    public static boolean matches(@RegEx String regex, @Nullable CharSequence value) {
+        Predicate<CharSequence> validator = of(regex);
+        return value != null && validator.test(value);
+    }
+
+    private static Predicate<CharSequence> compile(String regex) {
+        CharMatcher matcher = charClass(regex);
+        if (matcher != null) {
+            CharMatcher precomputed = matcher.precomputed();
+            // [...]+ 不匹配空串，[...]* 匹配空串
+            boolean allowEmpty = regex.charAt(regex.length() - 1) == '*';
+            return value -> (allowEmpty || value.length() > 0) && precomputed.matchesAllOf(value);
+        }
+        Pattern pattern = Pattern.compile(regex);
+        return value -> pattern.matcher(value).matches();
+    }
+
+    /**
+     * 将形如 [...]+ 或 [...]* 的表达式转换为字符匹配器，不支持的语法返回 null，交给正则引擎处理。
+     * <p>
+     * 字符类中支持普通字符、a-z 范围、\\uXXXX 转义以及对标点符号的转义。
+     */
+    @Nullable
+    static CharMatcher charClass(String regex) {
+        int length = regex.length();
+        if (length < 4 || regex.charAt(0) != '['
+                || regex.charAt(length - 2) != ']'
+                || (regex.charAt(length - 1) != '+' && regex.charAt(length - 1) != '*')) {
+            return null;
+        }
+        int end = length - 2;
+        int i = 1;
+        if (regex.charAt(i) == '^') {
+            return null;
+        }
+        CharMatcher matcher = CharMatcher.none();
+        int[] next = new int[1];
+        while (i < end) {
+            int low = literal(regex, i, end, next);
+            if (low < 0) {
+                return null;
+            }
+            i = next[0];
+            if (i + 1 < end && regex.charAt(i) == '-') {
+                int high = literal(regex, i + 1, end, next);
+                if (high < low) {
+                    return null;
+                }
+                i = next[0];
+                matcher = matcher.or(CharMatcher.inRange((char) low, (char) high));
+            } else {
+                matcher = matcher.or(CharMatcher.is((char) low));
+            }
+        }
+        return i == end ? matcher : null;
+    }
+
+    /**
+     * 读取字符类中的一个字符，next[0] 指向下一个位置；遇到不支持的语法返回 -1。
+     */
+    private static int literal(String regex, int i, int end, int[] next) {
+        char c = regex.charAt(i);
+        if (c == '[' || c == '&') {
+            // 嵌套字符类以及交集
+            return -1;
+        }
+        if (c == ']') {
+            return -1;
+        }
+        if (c != '\\') {
+            next[0] = i + 1;
+            return c;
+        }
+        if (i + 1 >= end) {
+            return -1;
+        }
+        char escaped = regex.charAt(i + 1);
+        if (escaped == 'u') {
+            if (i + 6 > end) {
+                return -1;
+            }
+            int value = 0;
+            for (int j = i + 2; j < i + 6; j++) {
+                int digit = Character.digit(regex.charAt(j), 16);
+                if (digit < 0) {
+                    return -1;
+                }
+                value = (value << 4) | digit;
+            }
+            next[0] = i + 6;
+            return value;
+        }
+        if (escaped < 0x80 && !Character.isLetterOrDigit(escaped)) {
+            // \- \\ \. 等标点符号的转义表示其本身
+            next[0] = i + 2;
+            return escaped;
+        }
+        // \d \w \p{..} 等预定义字符类
+        return -1;
+    }
+}
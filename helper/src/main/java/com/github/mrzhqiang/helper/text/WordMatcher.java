@@ -0,0 +1,469 @@
+package com.github.mrzhqiang.helper.text;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Strings;
+
+import javax.annotation.Nullable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 多模式匹配器。
+ * <p>
+ * 通过词表一次性构建 Aho-Corasick 自动机，之后只需要扫描一遍文本，就能找出所有出现的词语，
+ * 适合昵称、聊天内容的敏感词过滤。
+ * <p>
+ * 自动机的状态转移保存在双数组（base 和 check）中：状态 s 经过字符 c 转移到 base[s] + c，
+ * 当且仅当 check[base[s] + c] == s 时转移有效。相比每个节点一个 Map，双数组没有对象开销，查找也只是两次数组访问。
+ * <p>
+ * 匹配时忽略大小写，并且不区分全角和半角：全角 ASCII 字符以及 {@link CommonSymbols} 中的全角标点，
+ * 都会转换为对应的半角字符再进行匹配。转换是逐个字符进行的，因此匹配结果的位置就是原始文本中的位置。
+ * <p>
+ * 注意：构建完成后匹配器是不可变的，可以在多个线程之间共享。
+ */
+public final class WordMatcher {
+
+    private static final int ROOT = 1;
+    private static final int CHAR_COUNT = Character.MAX_VALUE + 1;
+
+    /**
+     * 字符到字母表编号的映射，0 表示词表中没有出现过的字符。
+     */
+    private final char[] codes;
+    private final int[] base;
+    private final int[] check;
+    private final int[] fail;
+    /**
+     * 以此状态结尾的词语长度，0 表示不是词语的结尾。
+     */
+    private final int[] length;
+    /**
+     * 沿失败链找到的下一个词语结尾状态，0 表示没有。
+     */
+    private final int[] output;
+    private final int[] wordIndex;
+    private final String[] words;
+
+    private WordMatcher(Builder builder) {
+        this.codes = builder.codes;
+        int size = builder.size;
+        this.base = Arrays.copyOf(builder.base, size);
+        this.check = Arrays.copyOf(builder.check, size);
+        this.fail = Arrays.copyOf(builder.fail, size);
+        this.length = Arrays.copyOf(builder.length, size);
+        this.output = Arrays.copyOf(builder.output, size);
+        this.wordIndex = Arrays.copyOf(builder.wordIndex, size);
+        this.words = builder.words.toArray(new String[0]);
+    }
+
+    /**
+     * 通过词语构建匹配器。
+     *
+     * @param words 词语，忽略空串；归一化之后相同的词语只保留第一个。
+     * @return 多模式匹配器。
+     */
+    public static WordMatcher of(String... words) {
+        Preconditions.checkNotNull(words, "words == null");
+        return of(Arrays.asList(words));
+    }
+
+    /**
+     * 通过词表构建匹配器。
+     *
+     * @param words 词表，忽略空串；归一化之后相同的词语只保留第一个。
+     * @return 多模式匹配器。
+     */
+    public static WordMatcher of(Iterable<String> words) {
+        Preconditions.checkNotNull(words, "words == null");
+        return new WordMatcher(new Builder(words));
+    }
+
+    /**
+     * 词语数量。
+     *
+     * @return 去重之后的词语数量。
+     */
+    public int size() {
+        return words.length;
+    }
+
+    /**
+     * 判断文本中是否包含任意一个词语。
+     *
+     * @param text 文本。
+     * @return true 包含；false 不包含。
+     */
+    public boolean contains(CharSequence text) {
+        return findFirst(text) != null;
+    }
+
+    /**
+     * 查找文本中第一个出现的词语，即结束位置最靠前的词语；结束位置相同时返回最长的词语。
+     *
+     * @param text 文本。
+     * @return 匹配结果，如果不包含任何词语，则返回 Null。
+     */
+    @Nullable
+    public Hit findFirst(CharSequence text) {
+        Preconditions.checkNotNull(text, "text == null");
+        int state = ROOT;
+        for (int i = 0, n = text.length(); i < n; i++) {
+            state = next(state, text.charAt(i));
+            int found = length[state] > 0 ? state : output[state];
+            if (found != 0) {
+                return hit(found, i + 1);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 查找文本中出现的所有词语，包括相互重叠的词语。
+     *
+     * @param text 文本。
+     * @return 按照结束位置排序的匹配结果，结束位置相同时较长的词语在前。
+     */
+    public List<Hit> findAll(CharSequence text) {
+        Preconditions.checkNotNull(text, "text == null");
+        List<Hit> hits = null;
+        int state = ROOT;
+        for (int i = 0, n = text.length(); i < n; i++) {
+            state = next(state, text.charAt(i));
+            int found = length[state] > 0 ? state : output[state];
+            while (found != 0) {
+                if (hits == null) {
+                    hits = new ArrayList<>();
+                }
+                hits.add(hit(found, i + 1));
+                found = output[found];
+            }
+        }
+        return hits == null ? Collections.emptyList() : hits;
+    }
+
+    /**
+     * 使用 {@link CommonSymbols#START 星号} 遮盖文本中出现的所有词语。
+     *
+     * @param text 文本。
+     * @return 遮盖之后的文本，如果不包含任何词语，则返回原始文本的字符串形式。
+     */
+    public String mask(CharSequence text) {
+        return mask(text, CommonSymbols.START);
+    }
+
+    /**
+     * 使用指定字符遮盖文本中出现的所有词语。
+     *
+     * @param text 文本。
+     * @param mask 遮盖字符。
+     * @return 遮盖之后的文本，如果不包含任何词语，则返回原始文本的字符串形式。
+     */
+    public String mask(CharSequence text, char mask) {
+        Preconditions.checkNotNull(text, "text == null");
+        char[] chars = null;
+        // 最近一段连续遮盖区间 [runStart, masked)，重叠的词语不需要重复遮盖
+        int runStart = 0;
+        int masked = 0;
+        int state = ROOT;
+        for (int i = 0, n = text.length(); i < n; i++) {
+            state = next(state, text.charAt(i));
+            // 同一个结束位置只需要遮盖最长的词语，较短的词语都是它的后缀
+            int found = length[state] > 0 ? state : output[state];
+            if (found != 0) {
+                if (chars == null) {
+                    chars = text.toString().toCharArray();
+                }
+                int end = i + 1;
+                int start = end - length[found];
+                if (start > masked) {
+                    runStart = start;
+                    Arrays.fill(chars, start, end, mask);
+                } else {
+                    // 较长的词语可能从已遮盖区间之前开始
+                    if (start < runStart) {
+                        Arrays.fill(chars, start, runStart, mask);
+                        runStart = start;
+                    }
+                    Arrays.fill(chars, masked, end, mask);
+                }
+                masked = end;
+            }
+        }
+        return chars == null ? text.toString() : new String(chars);
+    }
+
+    private int next(int state, char c) {
+        int code = codes[c];
+        if (code == 0) {
+            return ROOT;
+        }
+        while (true) {
+            int target = base[state] + code;
+            if (target < check.length && check[target] == state) {
+                return target;
+            }
+            if (state == ROOT) {
+                return ROOT;
+            }
+            state = fail[state];
+        }
+    }
+
+    private Hit hit(int state, int end) {
+        return new Hit(end - length[state], end, words[wordIndex[state]]);
+    }
+
+    /**
+     * 归一化字符：全角转半角，大写转小写。
+     */
+    static char normalize(char c) {
+        if (c >= '！' && c <= '～') {
+            // 全角 ASCII 字符与半角字符的编码相差 0xFEE0
+            c = (char) (c - 0xFEE0);
+        } else if (c == '　') {
+            c = CommonSymbols.SPACE;
+        } else if (c == CommonSymbols.FULL_DOT) {
+            c = CommonSymbols.HALF_DOT;
+        } else if (c == CommonSymbols.FULL_APOSTROPHE_LEFT || c == CommonSymbols.FULL_APOSTROPHE_RIGHT) {
+            c = CommonSymbols.HALF_APOSTROPHE;
+        } else if (c == CommonSymbols.FULL_DOUBLE_QUOTES_LEFT || c == CommonSymbols.FULL_DOUBLE_QUOTES_RIGHT) {
+            c = CommonSymbols.HALF_DOUBLE_QUOTES;
+        } else if (c == CommonSymbols.FULL_DASH) {
+            c = CommonSymbols.HALF_DASH;
+        } else if (c == CommonSymbols.BOOK_BRACKETS_LEFT) {
+            c = CommonSymbols.SQUARE_BRACKETS_LEFT;
+        } else if (c == CommonSymbols.BOOK_BRACKETS_RIGHT) {
+            c = CommonSymbols.SQUARE_BRACKETS_RIGHT;
+        }
+        return Character.toLowerCase(c);
+    }
+
+    /**
+     * 匹配结果。
+     */
+    public static final class Hit {
+        private final int start;
+        private final int end;
+        private final String word;
+
+        Hit(int start, int end, String word) {
+            this.start = start;
+            this.end = end;
+            this.word = word;
+        }
+
+        /**
+         * 在文本中的起始位置（包含）。
+         */
+        public int start() {
+            return start;
+        }
+
+        /**
+         * 在文本中的结束位置（不包含）。
+         */
+        public int end() {
+            return end;
+        }
+
+        /**
+         * 匹配到的词语，即构建时传入的原始词语。
+         */
+        public String word() {
+            return word;
+        }
+
+        @Override
+        public String toString() {
+            return word + "[" + start + ", " + end + ")";
+        }
+    }
+
+    /**
+     * 构建过程：先构建普通的字典树，再按照广度优先的顺序放入双数组，最后计算失败链。
+     */
+    private static final class Builder {
+        final char[] codes = new char[CHAR_COUNT];
+        final List<String> words = new ArrayList<>();
+
+        int[] base = new int[1024];
+        int[] check = new int[1024];
+        int[] fail;
+        int[] length;
+        int[] output;
+        int[] wordIndex;
+        int size = ROOT + 1;
+        /**
+         * 在此位置之前（不包含根状态之前的保留位置）的槽位都已经被占用。
+         */
+        int nextCheckPos = ROOT + 1;
+
+        Builder(Iterable<String> source) {
+            Node root = new Node(0, 0);
+            char[] codeOf = new char[CHAR_COUNT];
+            int alphabet = 0;
+            for (String word : source) {
+                Preconditions.checkNotNull(word, "word == null");
+                if (Strings.isNullOrEmpty(word)) {
+                    continue;
+                }
+                Node node = root;
+                for (int i = 0; i < word.length(); i++) {
+                    char c = normalize(word.charAt(i));
+                    if (codeOf[c] == 0) {
+                        codeOf[c] = (char) ++alphabet;
+                    }
+                    node = node.child(codeOf[c]);
+                }
+                if (node.word < 0) {
+                    node.word = words.size();
+                    words.add(word);
+                }
+            }
+            for (int c = 0; c < CHAR_COUNT; c++) {
+                codes[c] = codeOf[normalize((char) c)];
+            }
+
+            // 根状态占用位置 1，位置 0 保留不用，check 为 0 表示空闲
+            check[ROOT] = -1;
+            root.state = ROOT;
+            List<Node> order = new ArrayList<>();
+            Deque<Node> queue = new ArrayDeque<>();
+            queue.add(root);
+            while (!queue.isEmpty()) {
+                Node node = queue.poll();
+                order.add(node);
+                place(node);
+                queue.addAll(node.sortedChildren());
+            }
+
+            fail = new int[size];
+            length = new int[size];
+            output = new int[size];
+            wordIndex = new int[size];
+            fail[ROOT] = ROOT;
+            // 广度优先的顺序保证计算失败链时，较浅状态的失败链已经就绪
+            for (Node node : order) {
+                int state = node.state;
+                if (node.word >= 0) {
+                    length[state] = node.depth;
+                    wordIndex[state] = node.word;
+                }
+                if (state != ROOT) {
+                    int target = fail[state];
+                    output[state] = length[target] > 0 ? target : output[target];
+                }
+                for (Node child : node.sortedChildren()) {
+                    fail[child.state] = state == ROOT ? ROOT : transition(fail[state], child.code);
+                }
+            }
+        }
+
+        /**
+         * 为节点的所有子节点寻找空闲位置，并确定节点的 base 值。
+         */
+        private void place(Node node) {
+            List<Node> children = node.sortedChildren();
+            if (children.isEmpty()) {
+                return;
+            }
+            int first = children.get(0).code;
+            int last = children.get(children.size() - 1).code;
+            int pos = Math.max(nextCheckPos, first + 1);
+            boolean advance = pos == nextCheckPos;
+            int begin;
+            while (true) {
+                ensure(pos + last - first + 1);
+                if (check[pos] != 0) {
+                    pos++;
+                    continue;
+                }
+                if (advance) {
+                    nextCheckPos = pos;
+                    advance = false;
+                }
+                begin = pos - first;
+                if (fits(begin, children)) {
+                    break;
+                }
+                pos++;
+            }
+            base[node.state] = begin;
+            for (Node child : children) {
+                int state = begin + child.code;
+                check[state] = node.state;
+                child.state = state;
+                size = Math.max(size, state + 1);
+            }
+        }
+
+        private boolean fits(int begin, List<Node> children) {
+            for (Node child : children) {
+                if (check[begin + child.code] != 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private int transition(int state, int code) {
+            while (true) {
+                int target = base[state] + code;
+                if (target < size && check[target] == state) {
+                    return target;
+                }
+                if (state == ROOT) {
+                    return ROOT;
+                }
+                state = fail[state];
+            }
+        }
+
+        private void ensure(int capacity) {
+            if (capacity > check.length) {
+                int newLength = Math.max(capacity, check.length + (check.length >> 1));
+                base = Arrays.copyOf(base, newLength);
+                check = Arrays.copyOf(check, newLength);
+            }
+        }
+    }
+
+    private static final class Node {
+        final int code;
+        final int depth;
+        Map<Integer, Node> children;
+        List<Node> sorted;
+        int word = -1;
+        int state;
+
+        Node(int code, int depth) {
+            this.code = code;
+            this.depth = depth;
+        }
+
+        Node child(int code) {
+            if (children == null) {
+                children = new HashMap<>();
+            }
+            return children.computeIfAbsent(code, key -> new Node(key, depth + 1));
+        }
+
+        List<Node> sortedChildren() {
+            if (sorted == null) {
+                if (children == null) {
+                    sorted = Collections.emptyList();
+                } else {
+                    sorted = new ArrayList<>(children.values());
+                    sorted.sort((a, b) -> Integer.compare(a.code, b.code));
+                }
+            }
+            return sorted;
+        }
+    }
+}
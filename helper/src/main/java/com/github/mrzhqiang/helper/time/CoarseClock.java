@@ -0,0 +1,152 @@
+package com.github.mrzhqiang.helper.time;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 粗粒度时钟。
+ * <p>
+ * 由单个守护线程按照固定间隔刷新当前时间，并在秒数变化时预先格式化好常用的时间字符串，
+ * 热点调用方直接读取缓存的字符串，不再每次调用 {@link LocalDateTime#now()} 以及执行格式化。
+ * <p>
+ * 注意：读取到的时间最多落后一个刷新间隔，不适用于需要精确计时的场景。
+ * <p>
+ * 关于配置设定：
+ * <pre>
+ *   helper {
+ *     datetime {
+ *       clock {
+ *         tick = 10ms
+ *       }
+ *     }
+ *   }
+ * </pre>
+ */
+public final class CoarseClock {
+    private CoarseClock() {
+        // no instances
+    }
+
+    private static final Config CONFIG = ConfigFactory.load().getConfig("helper.datetime.clock");
+    private static final long TICK_NANOS = Math.max(CONFIG.getDuration("tick", TimeUnit.NANOSECONDS),
+            TimeUnit.MILLISECONDS.toNanos(1));
+
+    private static final DateTimeFormatter BASIC_DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+    private static final DateTimeFormatter HTTP_DATE = DateTimeFormatter
+            .ofPattern("EEE, dd MMM yyyy HH:mm:ss 'GMT'", Locale.US)
+            .withZone(ZoneOffset.UTC);
+
+    private static volatile long currentMillis;
+    private static volatile Snapshot snapshot;
+
+    static {
+        tick();
+        ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+                .setNameFormat("helper-coarse-clock")
+                .setDaemon(true)
+                .build());
+        ticker.scheduleAtFixedRate(CoarseClock::tick, TICK_NANOS, TICK_NANOS, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 当前时间的毫秒数。
+     * <p>
+     * 与 {@link System#currentTimeMillis()} 的差距不超过一个刷新间隔。
+     */
+    public static long currentTimeMillis() {
+        return currentMillis;
+    }
+
+    /**
+     * 当前瞬间。
+     */
+    public static Instant instant() {
+        return Instant.ofEpochMilli(currentMillis);
+    }
+
+    /**
+     * 当前的本地日期时间，精确到秒。
+     * <p>
+     * 同一秒内返回同一个实例。
+     */
+    public static LocalDateTime localDateTime() {
+        return snapshot.dateTime;
+    }
+
+    /**
+     * 当前的基础日期字符串。
+     * <p>
+     * 比如：20220812
+     */
+    public static String basicDate() {
+        return snapshot.basicDate;
+    }
+
+    /**
+     * 当前的基础日期时间字符串。
+     * <p>
+     * 比如：20220812181420
+     */
+    public static String basicDateTime() {
+        return snapshot.basicDateTime;
+    }
+
+    /**
+     * 当前的 HTTP 日期时间字符串，即 RFC 1123 格式。
+     * <p>
+     * 比如：Thu, 05 Jul 2018 14:50:45 GMT
+     */
+    public static String httpDate() {
+        return snapshot.httpDate;
+    }
+
+    private static void tick() {
+        long millis = System.currentTimeMillis();
+        currentMillis = millis;
+
+        long epochSecond = Math.floorDiv(millis, 1000L);
+        Snapshot last = snapshot;
+        if (last != null && last.epochSecond == epochSecond) {
+            return;
+        }
+
+        Instant instant = Instant.ofEpochSecond(epochSecond);
+        LocalDateTime dateTime = LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
+        LocalDate date = dateTime.toLocalDate();
+        // 同一天之内复用日期字符串
+        String basicDate = last != null && last.dateTime.toLocalDate().equals(date)
+                ? last.basicDate
+                : DateTimeFormatter.BASIC_ISO_DATE.format(date);
+        snapshot = new Snapshot(epochSecond, dateTime, basicDate,
+                BASIC_DATE_TIME.format(dateTime), HTTP_DATE.format(instant));
+    }
+
+    private static final class Snapshot {
+        final long epochSecond;
+        final LocalDateTime dateTime;
+        final String basicDate;
+        final String basicDateTime;
+        final String httpDate;
+
+        Snapshot(long epochSecond, LocalDateTime dateTime,
+                 String basicDate, String basicDateTime, String httpDate) {
+            this.epochSecond = epochSecond;
+            this.dateTime = dateTime;
+            this.basicDate = basicDate;
+            this.basicDateTime = basicDateTime;
+            this.httpDate = httpDate;
+        }
+    }
+}
@@ -0,0 +1,511 @@
+package com.github.mrzhqiang.helper.time;
+
+import com.google.common.base.Preconditions;
+
+import javax.annotation.Nullable;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Arrays;
+
+/**
+ * 固定布局的日期时间解析器与格式化器。
+ * <p>
+ * {@link java.text.SimpleDateFormat SimpleDateFormat} 需要 ThreadLocal 缓存，每次解析都会创建 Date 和 Calendar 对象，
+ * 解析失败还会抛出异常；而 yyyy-MM-dd HH:mm:ss 这一类布局，每个字段的位置和宽度都是固定的，
+ * 完全可以逐个字符直接解析。
+ * <p>
+ * 此类将模式编译为固定布局，直接在 {@link CharSequence} 或者 byte[] 区间上解析出纪元毫秒，
+ * 不创建任何中间对象，解析失败返回 {@link #INVALID} 而不是抛出异常；格式化时也可以直接写入 char[] 数组。
+ * <p>
+ * 本地时间与纪元时间之间的换算，使用缓存的时区偏移窗口：只有跨越夏令时等偏移转换点时，才会重新查询时区规则。
+ * <p>
+ * 支持的模式字母：
+ * <pre>
+ *   yyyy 年，4 位
+ *   MM   月，2 位
+ *   dd   日，2 位
+ *   HH   时，2 位，0-23
+ *   mm   分，2 位
+ *   ss   秒，2 位
+ *   SSS  毫秒，3 位
+ * </pre>
+ * 其他非字母字符作为字面量原样匹配；缺少的日期字段默认为 1970-01-01，与 SimpleDateFormat 一致。
+ * 不支持的模式（比如 EEE、单个 M、引号文本等）可以通过 {@link #isSupported(String)} 方法提前判断。
+ * <p>
+ * 注意：解析是严格的，月份、日期、时分秒超出范围都视为失败，年份的范围为 0000-9999。
+ */
+public final class DateLayout {
+
+    /**
+     * 解析失败时返回的值。
+     */
+    public static final long INVALID = Long.MIN_VALUE;
+
+    private static final int YEAR = 0;
+    private static final int MONTH = 1;
+    private static final int DAY = 2;
+    private static final int HOUR = 3;
+    private static final int MINUTE = 4;
+    private static final int SECOND = 5;
+    private static final int MILLIS = 6;
+
+    private static final String LETTERS = "yMdHmsS";
+    private static final int[] WIDTHS = {4, 2, 2, 2, 2, 2, 3};
+
+    private static final long SECONDS_PER_DAY = 86400L;
+
+    private final String pattern;
+    private final ZoneId zone;
+    private final ZoneRules rules;
+    // 字段类型、起始位置，按照在模式中出现的顺序排列
+    private final int[] fields;
+    private final int[] offsets;
+    // 字面量字符的位置及其字符
+    private final int[] literalOffsets;
+    private final char[] literals;
+
+    // 最近一次换算用到的偏移窗口，分别用于纪元时间转本地时间，以及本地时间转纪元时间
+    private volatile Window utcWindow;
+    private volatile Window localWindow;
+
+    private DateLayout(String pattern, ZoneId zone, int[] fields, int[] offsets,
+                       int[] literalOffsets, char[] literals) {
+        this.pattern = pattern;
+        this.zone = zone;
+        this.rules = zone.getRules();
+        this.fields = fields;
+        this.offsets = offsets;
+        this.literalOffsets = literalOffsets;
+        this.literals = literals;
+    }
+
+    /**
+     * 判断模式是否支持固定布局。
+     *
+     * @param pattern 日期时间模式。
+     * @return 如果可以编译为固定布局，返回 true；否则返回 false。
+     */
+    public static boolean isSupported(String pattern) {
+        return pattern != null && compile(pattern, ZoneOffset.UTC) != null;
+    }
+
+    /**
+     * 以系统默认时区编译固定布局。
+     *
+     * @param pattern 日期时间模式，比如 yyyy-MM-dd HH:mm:ss。
+     * @return 固定布局。
+     * @throws IllegalArgumentException 如果模式不支持固定布局。
+     */
+    public static DateLayout of(String pattern) {
+        return of(pattern, ZoneId.systemDefault());
+    }
+
+    /**
+     * 以指定时区编译固定布局。
+     *
+     * @param pattern 日期时间模式，比如 yyyy-MM-dd HH:mm:ss。
+     * @param zone    本地时间所在的时区。
+     * @return 固定布局。
+     * @throws IllegalArgumentException 如果模式不支持固定布局。
+     */
+    public static DateLayout of(String pattern, ZoneId zone) {
+        Preconditions.checkNotNull(pattern, "pattern == null");
+        Preconditions.checkNotNull(zone, "zone == null");
+        DateLayout layout = compile(pattern, zone);
+        Preconditions.checkArgument(layout != null, "unsupported pattern: %s", pattern);
+        return layout;
+    }
+
+    @Nullable
+    private static DateLayout compile(String pattern, ZoneId zone) {
+        int length = pattern.length();
+        int[] fields = new int[length];
+        int[] offsets = new int[length];
+        int[] literalOffsets = new int[length];
+        char[] literals = new char[length];
+        int fieldCount = 0;
+        int literalCount = 0;
+        boolean[] seen = new boolean[LETTERS.length()];
+        for (int i = 0; i < length; ) {
+            char c = pattern.charAt(i);
+            if (Character.isLetter(c) || c == '\'') {
+                int field = LETTERS.indexOf(c);
+                if (field < 0 || seen[field]) {
+                    return null;
+                }
+                int width = WIDTHS[field];
+                if (i + width > length || (i + width < length && pattern.charAt(i + width) == c)) {
+                    return null;
+                }
+                for (int j = 1; j < width; j++) {
+                    if (pattern.charAt(i + j) != c) {
+                        return null;
+                    }
+                }
+                seen[field] = true;
+                fields[fieldCount] = field;
+                offsets[fieldCount++] = i;
+                i += width;
+            } else {
+                literalOffsets[literalCount] = i;
+                literals[literalCount++] = c;
+                i++;
+            }
+        }
+        if (fieldCount == 0) {
+            return null;
+        }
+        return new DateLayout(pattern, zone,
+                Arrays.copyOf(fields, fieldCount),
+                Arrays.copyOf(offsets, fieldCount),
+                Arrays.copyOf(literalOffsets, literalCount),
+                Arrays.copyOf(literals, literalCount));
+    }
+
+    /**
+     * 日期时间模式。
+     */
+    public String pattern() {
+        return pattern;
+    }
+
+    /**
+     * 本地时间所在的时区。
+     */
+    public ZoneId zone() {
+        return zone;
+    }
+
+    /**
+     * 布局的固定长度。
+     */
+    public int length() {
+        return pattern.length();
+    }
+
+    /**
+     * 解析日期时间字符串。
+     *
+     * @param text 日期时间字符串。
+     * @return 纪元毫秒，解析失败返回 {@link #INVALID}。
+     */
+    public long parse(CharSequence text) {
+        Preconditions.checkNotNull(text, "text == null");
+        return parse(text, 0, text.length());
+    }
+
+    /**
+     * 解析字符序列中指定区间的日期时间。
+     *
+     * @param text 字符序列。
+     * @param off  起始位置。
+     * @param len  区间长度，必须等于布局长度才能解析成功。
+     * @return 纪元毫秒，解析失败返回 {@link #INVALID}。
+     */
+    public long parse(CharSequence text, int off, int len) {
+        Preconditions.checkNotNull(text, "text == null");
+        Preconditions.checkPositionIndexes(off, off + len, text.length());
+        if (len != pattern.length()) {
+            return INVALID;
+        }
+        for (int i = 0; i < literals.length; i++) {
+            if (text.charAt(off + literalOffsets[i]) != literals[i]) {
+                return INVALID;
+            }
+        }
+        int year = 1970, month = 1, day = 1, hour = 0, minute = 0, second = 0, millis = 0;
+        for (int i = 0; i < fields.length; i++) {
+            int field = fields[i];
+            int start = off + offsets[i];
+            int value = 0;
+            for (int j = start, end = start + WIDTHS[field]; j < end; j++) {
+                int digit = text.charAt(j) - '0';
+                if (digit < 0 || digit > 9) {
+                    return INVALID;
+                }
+                value = value * 10 + digit;
+            }
+            switch (field) {
+                case YEAR:
+                    year = value;
+                    break;
+                case MONTH:
+                    month = value;
+                    break;
+                case DAY:
+                    day = value;
+                    break;
+                case HOUR:
+                    hour = value;
+                    break;
+                case MINUTE:
+                    minute = value;
+                    break;
+                case SECOND:
+                    second = value;
+                    break;
+                case MILLIS:
+                    millis = value;
+                    break;
+                default:
+                    return INVALID;
+            }
+        }
+        return toEpochMillis(year, month, day, hour, minute, second, millis);
+    }
+
+    /**
+     * 解析 ASCII 字节数组中指定区间的日期时间。
+     * <p>
+     * 适用于直接从网络或者文件读取的字节，不需要先解码为字符串。
+     *
+     * @param bytes 字节数组。
+     * @param off   起始位置。
+     * @param len   区间长度，必须等于布局长度才能解析成功。
+     * @return 纪元毫秒，解析失败返回 {@link #INVALID}。
+     */
+    public long parse(byte[] bytes, int off, int len) {
+        Preconditions.checkNotNull(bytes, "bytes == null");
+        Preconditions.checkPositionIndexes(off, off + len, bytes.length);
+        if (len != pattern.length()) {
+            return INVALID;
+        }
+        for (int i = 0; i < literals.length; i++) {
+            if (bytes[off + literalOffsets[i]] != literals[i]) {
+                return INVALID;
+            }
+        }
+        int year = 1970, month = 1, day = 1, hour = 0, minute = 0, second = 0, millis = 0;
+        for (int i = 0; i < fields.length; i++) {
+            int field = fields[i];
+            int start = off + offsets[i];
+            int value = 0;
+            for (int j = start, end = start + WIDTHS[field]; j < end; j++) {
+                int digit = bytes[j] - '0';
+                if (digit < 0 || digit > 9) {
+                    return INVALID;
+                }
+                value = value * 10 + digit;
+            }
+            switch (field) {
+                case YEAR:
+                    year = value;
+                    break;
+                case MONTH:
+                    month = value;
+                    break;
+                case DAY:
+                    day = value;
+                    break;
+                case HOUR:
+                    hour = value;
+                    break;
+                case MINUTE:
+                    minute = value;
+                    break;
+                case SECOND:
+                    second = value;
+                    break;
+                case MILLIS:
+                    millis = value;
+                    break;
+                default:
+                    return INVALID;
+            }
+        }
+        return toEpochMillis(year, month, day, hour, minute, second, millis);
+    }
+
+    /**
+     * 格式化纪元毫秒。
+     *
+     * @param epochMillis 纪元毫秒。
+     * @return 格式化后的字符串，如果年份超出 0000-9999 的范围则返回 null。
+     */
+    @Nullable
+    public String format(long epochMillis) {
+        char[] chars = new char[pattern.length()];
+        if (format(epochMillis, chars, 0) < 0) {
+            return null;
+        }
+        return new String(chars);
+    }
+
+    /**
+     * 格式化纪元毫秒，直接写入目标数组。
+     *
+     * @param epochMillis 纪元毫秒。
+     * @param dest        目标数组，从 off 开始需要有 {@link #length()} 个字符的空间。
+     * @param off         写入的起始位置。
+     * @return 写入的字符数量，如果年份超出 0000-9999 的范围则不写入并返回 -1。
+     */
+    public int format(long epochMillis, char[] dest, int off) {
+        Preconditions.checkNotNull(dest, "dest == null");
+        Preconditions.checkPositionIndexes(off, off + pattern.length(), dest.length);
+
+        long epochSecond = Math.floorDiv(epochMillis, 1000L);
+        int millis = (int) Math.floorMod(epochMillis, 1000L);
+        long localSecond = epochSecond + utcOffset(epochSecond);
+        long epochDay = Math.floorDiv(localSecond, SECONDS_PER_DAY);
+        int secondOfDay = (int) Math.floorMod(localSecond, SECONDS_PER_DAY);
+
+        // civil from days，参考 Howard Hinnant 的 chrono-compatible low-level date algorithms
+        long z = epochDay + 719468;
+        long era = Math.floorDiv(z, 146097L);
+        long doe = z - era * 146097;
+        long yoe = (doe - doe / 1460 + doe / 36524 - doe / 146096) / 365;
+        long doy = doe - (365 * yoe + yoe / 4 - yoe / 100);
+        long mp = (5 * doy + 2) / 153;
+        int day = (int) (doy - (153 * mp + 2) / 5 + 1);
+        int month = (int) (mp < 10 ? mp + 3 : mp - 9);
+        long year = yoe + era * 400 + (month <= 2 ? 1 : 0);
+        if (year < 0 || year > 9999) {
+            return -1;
+        }
+
+        for (int i = 0; i < literals.length; i++) {
+            dest[off + literalOffsets[i]] = literals[i];
+        }
+        for (int i = 0; i < fields.length; i++) {
+            int field = fields[i];
+            int value;
+            switch (field) {
+                case YEAR:
+                    value = (int) year;
+                    break;
+                case MONTH:
+                    value = month;
+                    break;
+                case DAY:
+                    value = day;
+                    break;
+                case HOUR:
+                    value = secondOfDay / 3600;
+                    break;
+                case MINUTE:
+                    value = secondOfDay / 60 % 60;
+                    break;
+                case SECOND:
+                    value = secondOfDay % 60;
+                    break;
+                default:
+                    value = millis;
+            }
+            int start = off + offsets[i];
+            for (int j = start + WIDTHS[field] - 1; j >= start; j--) {
+                dest[j] = (char) ('0' + value % 10);
+                value /= 10;
+            }
+        }
+        return pattern.length();
+    }
+
+    private long toEpochMillis(int year, int month, int day, int hour, int minute, int second, int millis) {
+        if (month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)
+                || hour > 23 || minute > 59 || second > 59) {
+            return INVALID;
+        }
+        long localSecond = epochDay(year, month, day) * SECONDS_PER_DAY + hour * 3600 + minute * 60 + second;
+        return (localSecond - localOffset(localSecond)) * 1000L + millis;
+    }
+
+    /*
+     * days from civil，参考 Howard Hinnant 的 chrono-compatible low-level date algorithms。
+     */
+    static long epochDay(int year, int month, int day) {
+        long y = month <= 2 ? year - 1 : year;
+        long era = Math.floorDiv(y, 400L);
+        long yoe = y - era * 400;
+        long doy = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        long doe = yoe * 365 + yoe / 4 - yoe / 100 + doy;
+        return era * 146097 + doe - 719468;
+    }
+
+    static int lengthOfMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                boolean leap = (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+                return leap ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    /*
+     * 纪元秒所在的时区偏移，命中窗口时不查询时区规则。
+     */
+    private int utcOffset(long epochSecond) {
+        Window window = utcWindow;
+        if (window != null && epochSecond >= window.start && epochSecond < window.end) {
+            return window.offset;
+        }
+        Instant instant = Instant.ofEpochSecond(epochSecond);
+        int offset = rules.getOffset(instant).getTotalSeconds();
+        if (rules.isFixedOffset()) {
+            utcWindow = new Window(Long.MIN_VALUE, Long.MAX_VALUE, offset);
+            return offset;
+        }
+        ZoneOffsetTransition previous = rules.previousTransition(instant.plusSeconds(1));
+        ZoneOffsetTransition next = rules.nextTransition(instant);
+        utcWindow = new Window(previous == null ? Long.MIN_VALUE : previous.toEpochSecond(),
+                next == null ? Long.MAX_VALUE : next.toEpochSecond(), offset);
+        return offset;
+    }
+
+    /*
+     * 本地秒对应的时区偏移；重叠时取较早的偏移，与 java.time 一致。
+     */
+    private int localOffset(long localSecond) {
+        Window window = localWindow;
+        if (window != null && localSecond >= window.start && localSecond < window.end) {
+            return window.offset;
+        }
+        int offset = rules.getOffset(LocalDateTime.ofEpochSecond(localSecond, 0, ZoneOffset.UTC))
+                .getTotalSeconds();
+        if (rules.isFixedOffset()) {
+            localWindow = new Window(Long.MIN_VALUE, Long.MAX_VALUE, offset);
+            return offset;
+        }
+        Instant instant = Instant.ofEpochSecond(localSecond - offset);
+        if (rules.getOffset(instant).getTotalSeconds() != offset) {
+            // 本地时间落在转换的间隙中，不缓存
+            return offset;
+        }
+        ZoneOffsetTransition previous = rules.previousTransition(instant.plusSeconds(1));
+        ZoneOffsetTransition next = rules.nextTransition(instant);
+        // 排除重叠区间，这部分本地时间应当使用转换前的偏移
+        long start = previous == null ? Long.MIN_VALUE
+                : previous.toEpochSecond() + Math.max(offset, previous.getOffsetBefore().getTotalSeconds());
+        long end = next == null ? Long.MAX_VALUE : next.toEpochSecond() + offset;
+        if (localSecond >= start && localSecond < end) {
+            localWindow = new Window(start, end, offset);
+        }
+        return offset;
+    }
+
+    @Override
+    public String toString() {
+        return "DateLayout{" + pattern + ", " + zone + "}";
+    }
+
+    private static final class Window {
+        final long start;
+        final long end;
+        final int offset;
+
+        Window(long start, long end, int offset) {
+            this.start = start;
+            this.end = end;
+            this.offset = offset;
+        }
+    }
+}
@@ -184,6 +184,31 @@ public final class DateTimes {
         return timeAgo(baseline, target, messageApply);
     }
 
+    /**
+     * 以当前时间为基线，创建相对时间的批量渲染器。
+     * <p>
+     * 适用于动态列表等需要一次显示大量时间的场景，规则与 {@link #howLong(Instant, Instant)} 一致。
+     */
+    public static RelativeTimeRenderer renderer() {
+        return renderer(Instant.now());
+    }
+
+    /**
+     * 以指定的基线时间，创建相对时间的批量渲染器。
+     */
+    public static RelativeTimeRenderer renderer(Instant baseline) {
+        return renderer(baseline, DEF_MESSAGE_CACHED::get);
+    }
+
+    /**
+     * 以指定的基线时间，创建相对时间的批量渲染器。
+     * <p>
+     * 显示规则由传递的 messageApply 决定，每个消息只在创建时获取一次。
+     */
+    public static RelativeTimeRenderer renderer(Instant baseline, Function<String, String> messageApply) {
+        return new RelativeTimeRenderer(baseline, ZoneId.systemDefault(), messageApply);
+    }
+
     /**
      * 根据基线时间和目标时间比较的结果，显示还有多久。
      * <p>
@@ -8,8 +8,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nullable;
+import java.nio.charset.StandardCharsets;
 import java.text.DateFormat;
-import java.text.ParseException;
 import java.text.ParsePosition;
 import java.text.SimpleDateFormat;
 import java.time.LocalDateTime;
@@ -99,6 +99,13 @@ public final class Dates {
             () -> new SimpleDateFormat(DATE));
     private static final ThreadLocal<DateFormat> LOCAL_TIME = ThreadLocal.withInitial(
             () -> new SimpleDateFormat(TIME));
+    // 固定布局的快速路径，模式不支持时为 null，只使用 SimpleDateFormat
+    @Nullable
+    private static final DateLayout DATETIME_LAYOUT = DateLayout.isSupported(DATETIME) ? DateLayout.of(DATETIME) : null;
+    @Nullable
+    private static final DateLayout DATE_LAYOUT = DateLayout.isSupported(DATE) ? DateLayout.of(DATE) : null;
+    @Nullable
+    private static final DateLayout TIME_LAYOUT = DateLayout.isSupported(TIME) ? DateLayout.of(TIME) : null;
 
     private static final Config UNTIL = CONFIG.getConfig("until");
     private static final String UNTIL_YEARS = UNTIL.getString("years");
@@ -130,6 +137,10 @@ public final class Dates {
      */
     public static String format(Date date) {
         Preconditions.checkNotNull(date, "date == null");
+        String fast = fastFormat(DATETIME_LAYOUT, date);
+        if (fast != null) {
+            return fast;
+        }
         try {
             return LOCAL_DATETIME.get().format(date);
         } catch (Exception e) {
@@ -155,6 +166,10 @@ public final class Dates {
      */
     public static String formatDate(Date date) {
         Preconditions.checkNotNull(date, "date == null");
+        String fast = fastFormat(DATE_LAYOUT, date);
+        if (fast != null) {
+            return fast;
+        }
         return LOCAL_DATE.get().format(date);
     }
 
@@ -174,6 +189,10 @@ public final class Dates {
      */
     public static String formatTime(Date date) {
         Preconditions.checkNotNull(date, "date == null");
+        String fast = fastFormat(TIME_LAYOUT, date);
+        if (fast != null) {
+            return fast;
+        }
         return LOCAL_TIME.get().format(date);
     }
 
@@ -211,15 +230,60 @@ public final class Dates {
     @Nullable
     public static Date parse(String source) {
         Preconditions.checkNotNull(source, "source == null");
-        try {
-            return LOCAL_DATETIME.get().parse(source);
-        } catch (ParseException e) {
-            String message = Strings.lenientFormat("parse {} failed, we will try parse with http...", source);
-            LOGGER.error(message, e);
+        if (DATETIME_LAYOUT != null) {
+            long millis = DATETIME_LAYOUT.parse(source);
+            if (millis != DateLayout.INVALID) {
+                return new Date(millis);
+            }
         }
+        // 格式错误的时间在数据导入时很常见，使用 ParsePosition 解析，避免每次失败都抛出并捕获 ParseException
+        ParsePosition position = new ParsePosition(0);
+        Date date = LOCAL_DATETIME.get().parse(source, position);
+        if (date != null) {
+            return date;
+        }
+        LOGGER.debug("parse {} failed at index {}, we will try parse with http...", source, position.getErrorIndex());
         return parseHTTP(source);
     }
 
+    /**
+     * 解析时间日期为纪元毫秒。
+     * <p>
+     * 与 {@link #parse(String)} 使用同样的格式，但是不创建 {@link Date Date} 对象，也不会尝试 HTTP 格式。
+     * 对于 yyyy-MM-dd HH:mm:ss 这类固定布局，直接逐个字符解析，解析失败也不会抛出异常。
+     *
+     * @param source 字符串表示的时间。
+     * @return 纪元毫秒，如果解析失败则返回 {@link DateLayout#INVALID}。
+     */
+    public static long parseMillis(CharSequence source) {
+        Preconditions.checkNotNull(source, "source == null");
+        if (DATETIME_LAYOUT != null) {
+            return DATETIME_LAYOUT.parse(source);
+        }
+        ParsePosition position = new ParsePosition(0);
+        String text = source.toString();
+        Date date = LOCAL_DATETIME.get().parse(text, position);
+        return date != null && position.getIndex() == text.length() ? date.getTime() : DateLayout.INVALID;
+    }
+
+    /**
+     * 解析 ASCII 字节数组中指定区间的时间日期为纪元毫秒。
+     *
+     * @param bytes 字节数组。
+     * @param off   起始位置。
+     * @param len   区间长度。
+     * @return 纪元毫秒，如果解析失败则返回 {@link DateLayout#INVALID}。
+     * @see #parseMillis(CharSequence)
+     */
+    public static long parseMillis(byte[] bytes, int off, int len) {
+        Preconditions.checkNotNull(bytes, "bytes == null");
+        Preconditions.checkPositionIndexes(off, off + len, bytes.length);
+        if (DATETIME_LAYOUT != null) {
+            return DATETIME_LAYOUT.parse(bytes, off, len);
+        }
+        return parseMillis(new String(bytes, off, len, StandardCharsets.US_ASCII));
+    }
+
     /**
      * Returns the date for {@code source}. Returns null if the value couldn't be parsed.
      *
@@ -325,6 +389,11 @@ public final class Dates {
         return formatDate(date);
     }
 
+    @Nullable
+    private static String fastFormat(@Nullable DateLayout layout, Date date) {
+        return layout != null ? layout.format(date.getTime()) : null;
+    }
+
     /**
      * Best-effort parser for HTTP dates.
      * <p>
@@ -377,8 +446,38 @@ public final class Dates {
                 "EEE MMM d yyyy HH:mm:ss z",
         };
 
-        private static final DateFormat[] BROWSER_COMPATIBLE_DATE_FORMATS =
-                new DateFormat[BROWSER_COMPATIBLE_DATE_FORMAT_STRINGS.length];
+        /**
+         * Each thread lazily creates its own copies of the browser compatible formats, so the fallback
+         * path no longer serialises all threads on a global lock.
+         */
+        private static final ThreadLocal<DateFormat[]> BROWSER_COMPATIBLE_DATE_FORMATS =
+                ThreadLocal.withInitial(() -> new DateFormat[BROWSER_COMPATIBLE_DATE_FORMAT_STRINGS.length]);
+
+        /**
+         * Recently parsed header values. Cookie and Expires headers repeat a lot, a small direct-mapped
+         * cache avoids decoding them again. Entries are immutable, so racy reads and writes are safe.
+         */
+        private static final int CACHE_SIZE = 64;
+        private static final CacheEntry[] CACHE = new CacheEntry[CACHE_SIZE];
+
+        private static final String[] DAY_NAMES = {
+                "mon", "tue", "wed", "thu", "fri", "sat", "sun",
+                "monday", "tuesday", "wednesday", "thursday", "friday", "saturday", "sunday",
+        };
+        private static final String[] MONTH_NAMES = {
+                "jan", "feb", "mar", "apr", "may", "jun", "jul", "aug", "sep", "oct", "nov", "dec",
+                "january", "february", "march", "april", "may", "june",
+                "july", "august", "september", "october", "november", "december",
+        };
+        /**
+         * RFC 822 zone names, in the same order as {@link #ZONE_OFFSETS}.
+         */
+        private static final String[] ZONE_NAMES = {
+                "gmt", "utc", "ut", "z", "est", "edt", "cst", "cdt", "mst", "mdt", "pst", "pdt",
+        };
+        private static final int[] ZONE_OFFSETS = {
+                0, 0, 0, 0, -5, -4, -6, -5, -7, -6, -8, -7,
+        };
 
         /**
          * Returns the date for {@code value}. Returns null if the value couldn't be parsed.
@@ -388,36 +487,135 @@ public final class Dates {
                 return null;
             }
 
+            int slot = value.hashCode() & (CACHE_SIZE - 1);
+            CacheEntry entry = CACHE[slot];
+            long millis;
+            if (entry != null && entry.value.equals(value)) {
+                millis = entry.millis;
+            } else {
+                millis = decode(value);
+                if (millis == DateLayout.INVALID) {
+                    millis = parseWithFormats(value);
+                }
+                CACHE[slot] = new CacheEntry(value, millis);
+            }
+            return millis == DateLayout.INVALID ? null : new Date(millis);
+        }
+
+        /**
+         * Classifies the shape of {@code value} in one pass and decodes it directly. Handles RFC 1123,
+         * RFC 850, asctime and the alternative formats listed above, with GMT, RFC 822 or numeric zones.
+         * Returns {@link DateLayout#INVALID} for anything unusual, such as out of range fields that
+         * lenient formats would roll over, so the caller can fall back to the JDK formats.
+         */
+        private static long decode(String value) {
+            Cursor cursor = new Cursor(value);
+            cursor.skip(" ");
+            if (cursor.name(DAY_NAMES) < 0) {
+                return DateLayout.INVALID;
+            }
+            cursor.skip(", ");
+
+            int year;
+            int month;
+            int day;
+            int time;
+            int offset;
+            if (cursor.letter()) {
+                // EEE MMM d HH:mm:ss yyyy (asctime) or EEE MMM d yyyy HH:mm:ss z
+                month = cursor.name(MONTH_NAMES) % 12 + 1;
+                cursor.skip(" ");
+                day = cursor.number(1, 2);
+                cursor.skip(" ");
+                int start = cursor.pos;
+                int number = cursor.number(1, 4);
+                if (cursor.pos - start == 4) {
+                    year = number;
+                    cursor.skip(" ");
+                    time = cursor.time();
+                    cursor.skip(" ");
+                    offset = cursor.zone();
+                } else {
+                    cursor.pos = start;
+                    time = cursor.time();
+                    cursor.skip(" ");
+                    year = cursor.number(4, 4);
+                    // asctime has no zone, GMT is specified by RFC 7231
+                    offset = 0;
+                }
+            } else {
+                // EEE, dd MMM yyyy HH:mm:ss z and its dd-MMM-yy, dd-MM-yyyy, HH-mm-ss variants
+                day = cursor.number(1, 2);
+                if (!cursor.accept('-') && !cursor.accept(' ')) {
+                    return DateLayout.INVALID;
+                }
+                month = cursor.letter() ? cursor.name(MONTH_NAMES) % 12 + 1 : cursor.number(1, 2);
+                if (!cursor.accept('-') && !cursor.accept(' ')) {
+                    return DateLayout.INVALID;
+                }
+                int start = cursor.pos;
+                year = cursor.number(2, 4);
+                int digits = cursor.pos - start;
+                if (digits == 2) {
+                    year = twoDigitYear(year);
+                } else if (digits != 4) {
+                    return DateLayout.INVALID;
+                }
+                cursor.skip(" ");
+                time = cursor.time();
+                cursor.skip(" ");
+                offset = cursor.zone();
+            }
+
+            if (year < 0 || month < 1 || month > 12 || day < 1 || day > DateLayout.lengthOfMonth(year, month)
+                    || time < 0 || offset == Integer.MIN_VALUE) {
+                return DateLayout.INVALID;
+            }
+            return (DateLayout.epochDay(year, month, day) * 86400L + time - offset) * 1000L;
+        }
+
+        /**
+         * Same as SimpleDateFormat: two digit years are within 80 years before and 20 years after now.
+         */
+        private static int twoDigitYear(int yy) {
+            int start = CoarseClock.localDateTime().getYear() - 80;
+            int year = start / 100 * 100 + yy;
+            return year < start ? year + 100 : year;
+        }
+
+        /**
+         * The original okhttp algorithm, only used when {@link #decode(String)} gives up.
+         */
+        private static long parseWithFormats(String value) {
             ParsePosition position = new ParsePosition(0);
             Date result = STANDARD_DATE_FORMAT.get().parse(value, position);
             if (position.getIndex() == value.length()) {
                 // STANDARD_DATE_FORMAT must match exactly; all text must be consumed, e.g. no ignored
                 // non-standard trailing "+01:00". Those cases are covered below.
-                return result;
+                return result.getTime();
             }
-            synchronized (BROWSER_COMPATIBLE_DATE_FORMAT_STRINGS) {
-                for (int i = 0, count = BROWSER_COMPATIBLE_DATE_FORMAT_STRINGS.length; i < count; i++) {
-                    DateFormat format = BROWSER_COMPATIBLE_DATE_FORMATS[i];
-                    if (format == null) {
-                        format = new SimpleDateFormat(BROWSER_COMPATIBLE_DATE_FORMAT_STRINGS[i], Locale.US);
-                        // Set the timezone to use when interpreting formats that don't have a timezone. GMT is
-                        // specified by RFC 7231.
-                        format.setTimeZone(UTC);
-                        BROWSER_COMPATIBLE_DATE_FORMATS[i] = format;
-                    }
-                    position.setIndex(0);
-                    result = format.parse(value, position);
-                    if (position.getIndex() != 0) {
-                        // Something was parsed. It's possible the entire string was not consumed but we ignore
-                        // that. If any of the BROWSER_COMPATIBLE_DATE_FORMAT_STRINGS ended in "'GMT'" we'd have
-                        // to also check that position.getIndex() == value.length() otherwise parsing might have
-                        // terminated early, ignoring things like "+01:00". Leaving this as != 0 means that any
-                        // trailing junk is ignored.
-                        return result;
-                    }
+            DateFormat[] formats = BROWSER_COMPATIBLE_DATE_FORMATS.get();
+            for (int i = 0, count = BROWSER_COMPATIBLE_DATE_FORMAT_STRINGS.length; i < count; i++) {
+                DateFormat format = formats[i];
+                if (format == null) {
+                    format = new SimpleDateFormat(BROWSER_COMPATIBLE_DATE_FORMAT_STRINGS[i], Locale.US);
+                    // Set the timezone to use when interpreting formats that don't have a timezone. GMT is
+                    // specified by RFC 7231.
+                    format.setTimeZone(UTC);
+                    formats[i] = format;
+                }
+                position.setIndex(0);
+                result = format.parse(value, position);
+                if (position.getIndex() != 0) {
+                    // Something was parsed. It's possible the entire string was not consumed but we ignore
+                    // that. If any of the BROWSER_COMPATIBLE_DATE_FORMAT_STRINGS ended in "'GMT'" we'd have
+                    // to also check that position.getIndex() == value.length() otherwise parsing might have
+                    // terminated early, ignoring things like "+01:00". Leaving this as != 0 means that any
+                    // trailing junk is ignored.
+                    return result.getTime();
                 }
             }
-            return null;
+            return DateLayout.INVALID;
         }
 
         /**
@@ -429,5 +627,129 @@ public final class Dates {
 
         private HttpDate() {
         }
+
+        private static final class CacheEntry {
+            final String value;
+            final long millis;
+
+            CacheEntry(String value, long millis) {
+                this.value = value;
+                this.millis = millis;
+            }
+        }
+
+        /**
+         * A read position over the header value. Every read method returns -1 (or
+         * {@link Integer#MIN_VALUE} for zones) when the expected token is missing.
+         */
+        private static final class Cursor {
+            final String text;
+            int pos;
+
+            Cursor(String text) {
+                this.text = text;
+            }
+
+            boolean letter() {
+                return pos < text.length() && Character.isLetter(text.charAt(pos));
+            }
+
+            boolean accept(char c) {
+                if (pos < text.length() && text.charAt(pos) == c) {
+                    pos++;
+                    return true;
+                }
+                return false;
+            }
+
+            void skip(String chars) {
+                while (pos < text.length() && chars.indexOf(text.charAt(pos)) >= 0) {
+                    pos++;
+                }
+            }
+
+            /**
+             * Consumes a run of letters and returns the index of the matching lower case name.
+             */
+            int name(String[] names) {
+                int start = pos;
+                while (letter()) {
+                    pos++;
+                }
+                int length = pos - start;
+                for (int i = 0; i < names.length; i++) {
+                    if (names[i].length() == length && text.regionMatches(true, start, names[i], 0, length)) {
+                        return i;
+                    }
+                }
+                return -1;
+            }
+
+            int number(int min, int max) {
+                int value = 0;
+                int digits = 0;
+                while (digits < max && pos < text.length()) {
+                    int digit = text.charAt(pos) - '0';
+                    if (digit < 0 || digit > 9) {
+                        break;
+                    }
+                    value = value * 10 + digit;
+                    digits++;
+                    pos++;
+                }
+                return digits < min ? -1 : value;
+            }
+
+            /**
+             * HH:mm:ss or HH-mm-ss, returns the second of day.
+             */
+            int time() {
+                int hour = number(1, 2);
+                char separator = pos < text.length() ? text.charAt(pos) : 0;
+                if (separator != ':' && separator != '-') {
+                    return -1;
+                }
+                pos++;
+                int minute = number(2, 2);
+                if (!accept(separator)) {
+                    return -1;
+                }
+                int second = number(2, 2);
+                if (hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) {
+                    return -1;
+                }
+                return hour * 3600 + minute * 60 + second;
+            }
+
+            /**
+             * GMT, UTC, RFC 822 names, +hhmm, +hh:mm or GMT+hh:mm, returns the offset in seconds.
+             */
+            int zone() {
+                int offset = 0;
+                if (letter()) {
+                    int index = name(ZONE_NAMES);
+                    if (index < 0) {
+                        return Integer.MIN_VALUE;
+                    }
+                    offset = ZONE_OFFSETS[index] * 3600;
+                    if (index > 1 || pos >= text.length()
+                            || (text.charAt(pos) != '+' && text.charAt(pos) != '-')) {
+                        return offset;
+                    }
+                }
+                boolean negative = accept('-');
+                if (!negative && !accept('+')) {
+                    return Integer.MIN_VALUE;
+                }
+                int hours = number(2, 2);
+                accept(':');
+                int minutes = number(2, 2);
+                if (hours < 0 || minutes < 0 || minutes > 59) {
+                    return Integer.MIN_VALUE;
+                }
+                int seconds = hours * 3600 + minutes * 60;
+                return negative ? -seconds : seconds;
+            }
+        }
     }
 }
@@ -0,0 +1,215 @@
+package com.github.mrzhqiang.helper.time;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Strings;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.function.Function;
+
+/**
+ * 相对时间的批量渲染器。
+ * <p>
+ * 动态列表每一项都调用 {@link DateTimes#howLong(Instant, Instant)} 时，会反复计算午夜瞬间、
+ * 多次执行 until 计算、查询系统默认时区，并格式化消息模板。
+ * <p>
+ * 此渲染器固定一个基线时间的快照，在创建时一次性算好今天、昨天以及今年的边界，并取出所有消息模板；
+ * 渲染时只需要比较纪元毫秒。相对时间的结果（N 分钟前、还有 N 小时等）按数值缓存，
+ * 绝对时间的结果（今天 HH:mm、MM-dd 等）按分钟缓存，同一分钟内的多个时间只格式化一次。
+ * <p>
+ * 渲染规则与 {@link DateTimes#howLong(Instant, Instant, Function)} 完全一致。
+ * <p>
+ * 注意：此类不是线程安全的，适合在一次请求中创建并渲染一整页数据，基线时间不会随着时间流逝而改变。
+ */
+public final class RelativeTimeRenderer {
+
+    private static final long MILLIS_PER_SECOND = 1000L;
+    private static final long MILLIS_PER_MINUTE = 60 * MILLIS_PER_SECOND;
+    private static final long MILLIS_PER_HOUR = 60 * MILLIS_PER_MINUTE;
+    private static final long MILLIS_PER_HALF_DAY = 12 * MILLIS_PER_HOUR;
+    private static final long MILLIS_PER_DAY = 24 * MILLIS_PER_HOUR;
+
+    private static final int MEMO_SIZE = 256;
+
+    private final long baseline;
+    private final ZoneId zone;
+
+    private final long todayStart;
+    private final long yesterdayStart;
+    private final long yearStart;
+
+    private final String justNow;
+    private final String minutesAgo;
+    private final String hoursAgo;
+    private final String today;
+    private final String yesterday;
+    private final String haveSeconds;
+    private final String haveMinutes;
+    private final String haveHours;
+    private final String haveDays;
+
+    private final String[] minutesAgoCache = new String[60];
+    private final String[] hoursAgoCache = new String[12];
+    private final String[] haveSecondsCache = new String[60];
+    private final String[] haveMinutesCache = new String[60];
+    private final String[] haveHoursCache = new String[24];
+
+    private final long[] memoKeys = new long[MEMO_SIZE];
+    private final String[] memoValues = new String[MEMO_SIZE];
+
+    RelativeTimeRenderer(Instant baseline, ZoneId zone, Function<String, String> messageApply) {
+        Preconditions.checkNotNull(baseline, "baseline == null");
+        Preconditions.checkNotNull(zone, "zone == null");
+        Preconditions.checkNotNull(messageApply, "messageApply == null");
+
+        this.baseline = baseline.toEpochMilli();
+        this.zone = zone;
+
+        // 与 DateTimes.timeAgo 一致，今天和今年的边界以 UTC 计算
+        this.todayStart = Math.floorDiv(this.baseline, MILLIS_PER_DAY) * MILLIS_PER_DAY;
+        this.yesterdayStart = todayStart - MILLIS_PER_DAY;
+        this.yearStart = LocalDateTime.ofInstant(baseline, ZoneOffset.UTC).toLocalDate()
+                .withDayOfYear(1)
+                .atStartOfDay()
+                .toInstant(ZoneOffset.UTC)
+                .toEpochMilli();
+
+        this.justNow = messageApply.apply(DateTimes.KEY_JUST_NOW);
+        this.minutesAgo = messageApply.apply(DateTimes.KEY_MINUTES_AGO);
+        this.hoursAgo = messageApply.apply(DateTimes.KEY_HOURS_AGO);
+        this.today = messageApply.apply(DateTimes.KEY_TODAY);
+        this.yesterday = messageApply.apply(DateTimes.KEY_YESTERDAY);
+        this.haveSeconds = messageApply.apply(DateTimes.KEY_HAVE_SECONDS);
+        this.haveMinutes = messageApply.apply(DateTimes.KEY_HAVE_MINUTES);
+        this.haveHours = messageApply.apply(DateTimes.KEY_HAVE_HOURS);
+        this.haveDays = messageApply.apply(DateTimes.KEY_HAVE_DAYS);
+
+        // 分钟序号不可能是 Long.MIN_VALUE，以此表示空槽位
+        Arrays.fill(memoKeys, Long.MIN_VALUE);
+    }
+
+    /**
+     * 基线时间。
+     *
+     * @return 创建渲染器时固定的基线瞬间。
+     */
+    public Instant baseline() {
+        return Instant.ofEpochMilli(baseline);
+    }
+
+    /**
+     * 渲染单个时间。
+     *
+     * @param epochMillis 目标时间的纪元毫秒。
+     * @return 相对于基线时间的显示文本。
+     */
+    public String render(long epochMillis) {
+        if (baseline < epochMillis) {
+            return haveTime(epochMillis - baseline);
+        }
+        return timeAgo(epochMillis);
+    }
+
+    /**
+     * 批量渲染时间。
+     *
+     * @param epochMillis 目标时间的纪元毫秒数组。
+     * @return 与输入一一对应的显示文本数组。
+     */
+    public String[] render(long[] epochMillis) {
+        Preconditions.checkNotNull(epochMillis, "epochMillis == null");
+        String[] result = new String[epochMillis.length];
+        render(epochMillis, 0, result, 0, epochMillis.length);
+        return result;
+    }
+
+    /**
+     * 批量渲染时间，直接写入目标数组。
+     *
+     * @param epochMillis 目标时间的纪元毫秒数组。
+     * @param off         读取的起始位置。
+     * @param dest        目标数组。
+     * @param destOff     写入的起始位置。
+     * @param len         渲染的数量。
+     */
+    public void render(long[] epochMillis, int off, String[] dest, int destOff, int len) {
+        Preconditions.checkNotNull(epochMillis, "epochMillis == null");
+        Preconditions.checkNotNull(dest, "dest == null");
+        Preconditions.checkPositionIndexes(off, off + len, epochMillis.length);
+        Preconditions.checkPositionIndexes(destOff, destOff + len, dest.length);
+
+        for (int i = 0; i < len; i++) {
+            dest[destOff + i] = render(epochMillis[off + i]);
+        }
+    }
+
+    private String haveTime(long diff) {
+        long days = diff / MILLIS_PER_DAY;
+        if (days > 0) {
+            return Strings.lenientFormat(haveDays, days);
+        }
+        long hours = diff / MILLIS_PER_HOUR;
+        if (hours > 0) {
+            return cached(haveHoursCache, (int) hours, haveHours);
+        }
+        long minutes = diff / MILLIS_PER_MINUTE;
+        if (minutes > 0) {
+            return cached(haveMinutesCache, (int) minutes, haveMinutes);
+        }
+        return cached(haveSecondsCache, (int) (diff / MILLIS_PER_SECOND), haveSeconds);
+    }
+
+    private String timeAgo(long target) {
+        if (target >= todayStart) {
+            long diff = baseline - target;
+            long minutes = diff / MILLIS_PER_MINUTE;
+            if (minutes == 0) {
+                return justNow;
+            }
+            long hours = diff / MILLIS_PER_HOUR;
+            if (hours == 0) {
+                return cached(minutesAgoCache, (int) minutes, minutesAgo);
+            }
+            if (diff < MILLIS_PER_HALF_DAY) {
+                return cached(hoursAgoCache, (int) hours, hoursAgo);
+            }
+        }
+        // 今天半天以外、昨天、今年以及更早的显示只取决于目标时间所在的分钟
+        long minute = Math.floorDiv(target, MILLIS_PER_MINUTE);
+        int slot = (int) (minute & (MEMO_SIZE - 1));
+        if (memoKeys[slot] == minute) {
+            return memoValues[slot];
+        }
+        String value = absolute(target);
+        memoKeys[slot] = minute;
+        memoValues[slot] = value;
+        return value;
+    }
+
+    private String absolute(long target) {
+        LocalDateTime dateTime = LocalDateTime.ofInstant(Instant.ofEpochMilli(target), zone);
+        if (target >= todayStart) {
+            return Strings.lenientFormat(today, DateTimes.SIMPLE_TIME_FORMATTER.format(dateTime));
+        }
+        if (target >= yesterdayStart) {
+            return Strings.lenientFormat(yesterday, DateTimes.SIMPLE_TIME_FORMATTER.format(dateTime));
+        }
+        if (target >= yearStart) {
+            return DateTimes.SIMPLE_DATE_FORMATTER.format(dateTime);
+        }
+        return DateTimeFormatter.ISO_LOCAL_DATE.format(dateTime);
+    }
+
+    private static String cached(String[] cache, int value, String template) {
+        String result = cache[value];
+        if (result == null) {
+            result = Strings.lenientFormat(template, value);
+            cache[value] = result;
+        }
+        return result;
+    }
+}
@@ -8,6 +8,8 @@ import static java.lang.Math.pow;
 import static java.lang.Math.sin;
 import static java.lang.Math.sqrt;
 
+import com.github.mrzhqiang.helper.math.DoubleCodec;
+
 import java.text.DecimalFormat;
 
 public class UppcHelper {
@@ -154,8 +156,21 @@ public class UppcHelper {
         return latlon;
     }
 
+    /**
+     * 保留 9 位小数，按照精确的二进制值做 HALF_EVEN 舍入，小数点固定为 '.'，不受默认 Locale 影响。
+     * <p>
+     * 结果与 DecimalFormat("###0.000000000") 并不完全一致：比如 ±5e-10 在这里得到 ±0.000000001，
+     * 而 DecimalFormat 舍入为零；大于等于 1e16 的数值，整数部分的数字也可能不同。
+     * 详见 {@link DoubleCodec#toFixed(double, int)}。
+     *
+     * @param d 双精度浮点数。
+     * @return 保留 9 位小数的字符串。
+     */
     public static String doubleFormat9(double d) {
-        DecimalFormat decimalFormat = new DecimalFormat("###0.000000000");//格式化设置
-        return decimalFormat.format(d);
+        if (Double.isNaN(d) || Double.isInfinite(d)) {
+            DecimalFormat decimalFormat = new DecimalFormat("###0.000000000");//格式化设置
+            return decimalFormat.format(d);
+        }
+        return DoubleCodec.toFixed(d, 9);
     }
 }
@@ -0,0 +1,49 @@
+package com.github.mrzhqiang.helper;
+
+import org.junit.Test;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ClassesTest {
+
+    @Test
+    public void ofInstance() {
+        List<String> first = Classes.ofInstance(ArrayList.class.getName());
+        List<String> second = Classes.ofInstance(ArrayList.class.getName());
+        assertTrue(first instanceof ArrayList);
+        assertNotSame(first, second);
+
+        List<String> defaultList = Collections.emptyList();
+        assertSame(defaultList, Classes.ofInstance("com.example.Missing", defaultList));
+        assertSame(defaultList, Classes.ofInstance("com.example.Missing", defaultList));
+        // 抽象类、非公开类以及没有无参构造函数的类都无法生成实例
+        assertSame(defaultList, Classes.ofInstance(AbstractList.class.getName(), defaultList));
+        assertSame(defaultList, Classes.ofInstance(Hidden.class.getName(), defaultList));
+        assertSame(defaultList, Classes.ofInstance(Integer.class.getName(), defaultList));
+        assertSame(defaultList, Classes.ofInstance(Failing.class.getName(), defaultList));
+        assertSame(defaultList, Classes.ofInstance("", defaultList));
+        assertNull(Classes.ofInstance(null));
+    }
+
+    @Test
+    public void ofSingleton() {
+        Object first = Classes.ofSingleton(StringBuilder.class.getName(), null);
+        assertTrue(first instanceof StringBuilder);
+        assertSame(first, Classes.ofSingleton(StringBuilder.class.getName(), null));
+        assertEquals("default", Classes.ofSingleton("com.example.Missing", "default"));
+    }
+
+    static class Hidden {
+    }
+
+    public static class Failing {
+        public Failing() {
+            throw new IllegalStateException();
+        }
+    }
+}
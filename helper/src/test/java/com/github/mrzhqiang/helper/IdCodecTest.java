@@ -0,0 +1,86 @@
+package com.github.mrzhqiang.helper;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+public class IdCodecTest {
+
+    @Test
+    public void base62() {
+        assertEquals("00000000000", IdCodec.toBase62(0));
+        assertEquals("0000000000z", IdCodec.toBase62(61));
+        assertEquals(Long.MAX_VALUE, IdCodec.fromBase62(IdCodec.toBase62(Long.MAX_VALUE)));
+
+        long id = new IdGenerator(3, 7).nextId();
+        String encoded = IdCodec.toBase62(id);
+        assertEquals(IdCodec.BASE62_LENGTH, encoded.length());
+        assertEquals(id, IdCodec.fromBase62(encoded));
+
+        char[] chars = new char[IdCodec.BASE62_LENGTH + 2];
+        IdCodec.encodeBase62(id, chars, 2);
+        assertEquals(id, IdCodec.decodeBase62(chars, 2, IdCodec.BASE62_LENGTH));
+
+        byte[] bytes = new byte[IdCodec.BASE62_LENGTH];
+        IdCodec.encodeBase62(id, bytes, 0);
+        assertEquals(encoded, new String(bytes, StandardCharsets.US_ASCII));
+        assertEquals(id, IdCodec.decodeBase62(bytes, 0, bytes.length));
+    }
+
+    @Test
+    public void base32() {
+        assertEquals("0000000000000", IdCodec.toBase32(0));
+        assertEquals("000000000000Z", IdCodec.toBase32(31));
+        assertEquals(Long.MAX_VALUE, IdCodec.fromBase32(IdCodec.toBase32(Long.MAX_VALUE)));
+
+        long id = new IdGenerator(3, 7).nextId();
+        String encoded = IdCodec.toBase32(id);
+        assertEquals(IdCodec.BASE32_LENGTH, encoded.length());
+        assertEquals(id, IdCodec.fromBase32(encoded));
+        // 不区分大小写，并且 O、I、L 按照数字解码
+        assertEquals(id, IdCodec.fromBase32(encoded.toLowerCase()));
+        assertEquals(IdCodec.fromBase32("10"), IdCodec.fromBase32("lO"));
+
+        byte[] bytes = new byte[IdCodec.BASE32_LENGTH];
+        IdCodec.encodeBase32(id, bytes, 0);
+        assertEquals(id, IdCodec.decodeBase32(bytes, 0, bytes.length));
+    }
+
+    @Test
+    public void sortable() {
+        IdGenerator generator = new IdGenerator(1, 1);
+        long first = generator.nextId();
+        long second = generator.nextId();
+        assertTrue(IdCodec.toBase62(first).compareTo(IdCodec.toBase62(second)) < 0);
+        assertTrue(IdCodec.toBase32(first).compareTo(IdCodec.toBase32(second)) < 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void illegalChar() {
+        IdCodec.fromBase62("0000-000000");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void overflow() {
+        IdCodec.fromBase62("zzzzzzzzzzz");
+    }
+
+    @Test
+    public void components() {
+        long before = System.currentTimeMillis();
+        long id = new IdGenerator(21, 10).nextId();
+        long after = System.currentTimeMillis();
+
+        long timestamp = IdCodec.timestamp(id);
+        assertTrue(timestamp >= before && timestamp <= after);
+        assertEquals(10, IdCodec.datacenterId(id));
+        assertEquals(21, IdCodec.workerId(id));
+        assertEquals(0, IdCodec.sequence(id));
+
+        assertTrue(IdCodec.minId(timestamp) <= id);
+        assertTrue(IdCodec.maxId(timestamp) >= id);
+        assertEquals(IdCodec.maxId(timestamp) + 1, IdCodec.minId(timestamp + 1));
+    }
+}
@@ -0,0 +1,147 @@
+package com.github.mrzhqiang.helper;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+public class IdGeneratorTest {
+
+    private static final int THREADS = 32;
+    private static final int PER_THREAD = 20_000;
+
+    @Test
+    public void nextIdIncreasing() {
+        IdGenerator generator = new IdGenerator(1, 1);
+        long last = generator.nextId();
+        for (int i = 0; i < 100_000; i++) {
+            long id = generator.nextId();
+            assertTrue(id > last);
+            last = id;
+        }
+    }
+
+    @Test
+    public void nextIdLayout() {
+        IdGenerator generator = new IdGenerator(21, 10);
+        long id = generator.nextId();
+        // 12 位序列号之上是 5 位工作机器序号，再之上是 5 位数据中心编号
+        assertEquals(21L, (id >>> 12) & 0x1F);
+        assertEquals(10L, (id >>> 17) & 0x1F);
+        assertTrue(id > 0);
+    }
+
+    @Test
+    public void nextIds() {
+        IdGenerator generator = new IdGenerator(1, 1);
+        assertEquals(0, generator.nextIds(0).length);
+
+        // 超过单个毫秒 4096 个序列号，必然跨越多个毫秒
+        long[] ids = generator.nextIds(10_000);
+        assertEquals(10_000, ids.length);
+        for (int i = 1; i < ids.length; i++) {
+            assertTrue(ids[i] > ids[i - 1]);
+        }
+        assertTrue(generator.nextId() > ids[ids.length - 1]);
+        // 序列号耗尽时必然经过等待
+        assertTrue(generator.getWaitCount() > 0);
+    }
+
+    @Test
+    public void borrowOnClockBackwards() {
+        AtomicLong clock = new AtomicLong(System.currentTimeMillis());
+        IdGenerator generator = new IdGenerator(1, 1, 5, clock::get);
+        long last = generator.nextId();
+
+        // 回拨 3 毫秒，在容忍范围内，继续生成递增的 ID
+        clock.addAndGet(-3);
+        for (int i = 0; i < 5000; i++) {
+            long id = generator.nextId();
+            assertTrue(id > last);
+            last = id;
+        }
+        assertTrue(generator.getBorrowCount() > 0);
+        assertEquals(0, generator.getRejectCount());
+
+        // 回拨超出容忍范围，拒绝生成
+        clock.addAndGet(-10);
+        try {
+            generator.nextId();
+            fail();
+        } catch (RuntimeException ignored) {
+        }
+        assertEquals(1, generator.getRejectCount());
+
+        // 时钟恢复后，继续生成
+        clock.addAndGet(20);
+        assertTrue(generator.nextId() > last);
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void rejectClockBackwards() {
+        AtomicLong clock = new AtomicLong(System.currentTimeMillis());
+        IdGenerator generator = new IdGenerator(1, 1, 0, clock::get);
+        generator.nextId();
+        clock.decrementAndGet();
+        generator.nextId();
+    }
+
+    @Test
+    public void reserve() {
+        IdGenerator generator = new IdGenerator(1, 1);
+        long[] ids = generator.reserve(5_000).toArray();
+        assertEquals(5_000, ids.length);
+        assertEquals(5_000, Arrays.stream(ids).distinct().count());
+    }
+
+    @Test
+    public void nextIdUniqueUnderContention() throws Exception {
+        IdGenerator generator = new IdGenerator(2, 3);
+        long[][] results = new long[THREADS][PER_THREAD];
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(THREADS);
+        for (int t = 0; t < THREADS; t++) {
+            long[] ids = results[t];
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    // 一半单个获取，一半批量获取，两者交替竞争
+                    int half = ids.length / 2;
+                    for (int i = 0; i < half; i++) {
+                        ids[i] = generator.nextId();
+                    }
+                    long[] batch = new long[ids.length - half];
+                    generator.nextIds(batch);
+                    System.arraycopy(batch, 0, ids, half, batch.length);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        start.countDown();
+        assertTrue(done.await(1, TimeUnit.MINUTES));
+        executor.shutdown();
+
+        long[] all = new long[THREADS * PER_THREAD];
+        for (int t = 0; t < THREADS; t++) {
+            // 单个线程观察到的 ID 仍然严格递增
+            for (int i = 1; i < PER_THREAD; i++) {
+                assertTrue(results[t][i] > results[t][i - 1]);
+            }
+            System.arraycopy(results[t], 0, all, t * PER_THREAD, PER_THREAD);
+        }
+        Arrays.sort(all);
+        for (int i = 1; i < all.length; i++) {
+            assertNotEquals(all[i - 1], all[i]);
+        }
+    }
+}
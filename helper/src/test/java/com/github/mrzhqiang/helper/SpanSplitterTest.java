@@ -0,0 +1,87 @@
+package com.github.mrzhqiang.helper;
+
+import com.google.common.base.Splitter;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.Assert.*;
+
+public class SpanSplitterTest {
+
+    @Test
+    public void agreesWithSplitter() {
+        SpanSplitter[] spans = {
+                SpanSplitter.on(','),
+                SpanSplitter.on(',').trimResults(),
+                SpanSplitter.on(',').omitEmptyStrings(),
+                SpanSplitter.COMMA,
+        };
+        Splitter[] splitters = {
+                Splitter.on(','),
+                Splitter.on(',').trimResults(),
+                Splitter.on(',').omitEmptyStrings(),
+                Splitters.COMMA,
+        };
+        String alphabet = "a1, \t";
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < 10_000; i++) {
+            StringBuilder builder = new StringBuilder();
+            int length = random.nextInt(12);
+            for (int j = 0; j < length; j++) {
+                builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            String text = builder.toString();
+            byte[] bytes = text.getBytes(StandardCharsets.US_ASCII);
+            for (int k = 0; k < spans.length; k++) {
+                List<String> expected = splitters[k].splitToList(text);
+                assertEquals(text, expected, values(spans[k].split(text)));
+                assertEquals(text, expected, values(spans[k].cursor().reset(bytes, 0, bytes.length)));
+            }
+        }
+    }
+
+    @Test
+    public void offsets() {
+        SpanSplitter.Cursor cursor = SpanSplitter.COMMA.cursor();
+        cursor.reset("[ 12 ,, 3 ]", 1, 9);
+        assertTrue(cursor.next());
+        assertEquals(2, cursor.start());
+        assertEquals(4, cursor.end());
+        assertEquals(12, cursor.toInt(0));
+        assertTrue(cursor.next());
+        assertEquals(8, cursor.start());
+        assertEquals(1, cursor.length());
+        assertFalse(cursor.next());
+
+        // 同一个游标可以反复使用
+        cursor.reset("1.5, x");
+        assertTrue(cursor.next());
+        assertEquals(1.5, cursor.toDouble(0), 0);
+        assertTrue(cursor.next());
+        assertEquals(-1L, cursor.toLong(-1L));
+        assertFalse(cursor.next());
+    }
+
+    @Test
+    public void splitToInts() {
+        int[] dest = new int[4];
+        byte[] row = "id,10, 20 ,x,40,50".getBytes(StandardCharsets.US_ASCII);
+        assertEquals(4, SpanSplitter.COMMA.splitToInts(row, 3, row.length - 3, dest, -1));
+        assertArrayEquals(new int[]{10, 20, -1, 40}, dest);
+
+        assertEquals(3, SpanSplitter.DOT.splitToInts("192.168.1", dest, -1));
+        assertEquals(0, SpanSplitter.DOT.splitToInts(" . ", dest, -1));
+    }
+
+    private static List<String> values(SpanSplitter.Cursor cursor) {
+        List<String> values = new ArrayList<>();
+        while (cursor.next()) {
+            values.add(cursor.value());
+        }
+        return values;
+    }
+}
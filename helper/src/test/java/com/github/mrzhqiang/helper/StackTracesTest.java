@@ -1,6 +1,10 @@
 package com.github.mrzhqiang.helper;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.base.Throwables;
 import org.junit.Test;
 
 public class StackTracesTest {
@@ -10,5 +14,26 @@ public class StackTracesTest {
         String firstTrace = StackTraces.ofCurrent();
         String secondTrace = StackTraces.ofCurrent();
         assertNotEquals(firstTrace, secondTrace);
+
+        String bounded = StackTraces.ofCurrent(100);
+        assertEquals(100, bounded.length());
+        assertTrue(firstTrace.startsWith(bounded.substring(0, 40)));
+    }
+
+    @Test
+    public void of() {
+        IllegalStateException root = new IllegalStateException("root");
+        RuntimeException cause = new RuntimeException("cause", root);
+        cause.addSuppressed(new IllegalArgumentException("suppressed", new NullPointerException("inner")));
+        Exception exception = new Exception("outer", cause);
+        exception.addSuppressed(new UnsupportedOperationException("closing"));
+        // 循环引用
+        root.initCause(exception);
+
+        String full = Throwables.getStackTraceAsString(exception);
+        assertEquals(full, StackTraces.of(exception, Integer.MAX_VALUE));
+        for (int length = 0; length < full.length(); length += 37) {
+            assertEquals(full.substring(0, length), StackTraces.of(exception, length));
+        }
     }
 }
@@ -0,0 +1,69 @@
+package com.github.mrzhqiang.helper;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class StripedIdGeneratorTest {
+
+    private static final int THREADS = 16;
+    private static final int PER_THREAD = 20_000;
+
+    @Test
+    public void ofWorkers() throws Exception {
+        StripedIdGenerator generator = StripedIdGenerator.ofWorkers(8, 1, 8);
+        assertEquals(8, generator.lanes());
+        assertUnique(generator);
+    }
+
+    @Test
+    public void ofSequence() throws Exception {
+        StripedIdGenerator generator = StripedIdGenerator.ofSequence(1, 1, 4);
+        assertEquals(4, generator.lanes());
+        long id = generator.nextId();
+        // 工作机器序号保持不变
+        assertEquals(1L, (id >>> 12) & 0x1F);
+        assertUnique(generator);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void lanesPowerOfTwo() {
+        StripedIdGenerator.ofSequence(1, 1, 3);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void workersOutOfRange() {
+        StripedIdGenerator.ofWorkers(30, 1, 4);
+    }
+
+    private static void assertUnique(StripedIdGenerator generator) throws Exception {
+        long[] all = new long[THREADS * PER_THREAD];
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch done = new CountDownLatch(THREADS);
+        for (int t = 0; t < THREADS; t++) {
+            int offset = t * PER_THREAD;
+            executor.execute(() -> {
+                try {
+                    for (int i = 0; i < PER_THREAD; i++) {
+                        all[offset + i] = generator.nextId();
+                    }
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        assertTrue(done.await(1, TimeUnit.MINUTES));
+        executor.shutdown();
+
+        Arrays.sort(all);
+        for (int i = 1; i < all.length; i++) {
+            assertNotEquals(all[i - 1], all[i]);
+        }
+    }
+}
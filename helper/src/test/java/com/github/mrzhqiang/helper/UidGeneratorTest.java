@@ -0,0 +1,84 @@
+package com.github.mrzhqiang.helper;
+
+import org.junit.Test;
+
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class UidGeneratorTest {
+
+    @Test
+    public void permutation() {
+        UidGenerator generator = new UidGenerator(7, 0x5DEECE66DL);
+        long capacity = generator.capacity();
+        assertEquals(9_000_000L, capacity);
+
+        // 遍历整个定义域，每个 UID 都是 7 位数字并且互不相同
+        BitSet seen = new BitSet((int) capacity);
+        for (long i = 0; i < capacity; i++) {
+            long uid = generator.permute(i);
+            assertTrue(uid >= 1_000_000L && uid < 10_000_000L);
+            int bit = (int) (uid - 1_000_000L);
+            assertFalse(seen.get(bit));
+            seen.set(bit);
+        }
+        assertEquals(capacity, seen.cardinality());
+    }
+
+    @Test
+    public void unpermute() {
+        for (int digits = UidGenerator.MIN_DIGITS; digits <= UidGenerator.MAX_DIGITS; digits++) {
+            UidGenerator generator = new UidGenerator(digits, 42L);
+            for (long i = 0; i < 10_000; i++) {
+                long uid = generator.permute(i);
+                assertEquals(digits, Long.toString(uid).length());
+                assertEquals(i, generator.unpermute(uid));
+            }
+            long last = generator.capacity() - 1;
+            assertEquals(last, generator.unpermute(generator.permute(last)));
+        }
+    }
+
+    @Test
+    public void nextUid() {
+        UidGenerator generator = new UidGenerator(8, 7L);
+        char[] dest = new char[10];
+        dest[0] = '[';
+        dest[9] = ']';
+        generator.nextUid(dest, 1);
+        String uid = new String(dest, 1, 8);
+        assertEquals(0, generator.unpermute(Long.parseLong(uid)));
+        assertEquals('[', dest[0]);
+        assertEquals(']', dest[9]);
+
+        // 相邻计数器值映射后不再相邻
+        long first = generator.nextUid();
+        long second = generator.nextUid();
+        assertNotEquals(1, Math.abs(second - first));
+        assertEquals(3, generator.counter());
+        assertEquals(8, generator.nextUidString().length());
+    }
+
+    @Test
+    public void nodes() {
+        int nodes = 3;
+        Set<Long> all = new HashSet<>();
+        for (int node = 0; node < nodes; node++) {
+            UidGenerator generator = new UidGenerator(9, 1L, node, nodes, 100);
+            for (int i = 0; i < 1000; i++) {
+                assertTrue(all.add(generator.nextUid()));
+            }
+        }
+        assertEquals(3000, all.size());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void exhausted() {
+        UidGenerator generator = new UidGenerator(7, 1L, 0, 1, 9_000_000L - 1);
+        generator.nextUid();
+        generator.nextUid();
+    }
+}
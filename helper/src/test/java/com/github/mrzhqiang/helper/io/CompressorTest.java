@@ -0,0 +1,89 @@
+package com.github.mrzhqiang.helper.io;
+
+import com.google.common.io.ByteStreams;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.Assert.*;
+
+public class CompressorTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void parallel() throws IOException {
+        Path source = folder.newFolder("uploads").toPath();
+        Path nested = Files.createDirectories(source.resolve("nested").resolve("deep"));
+        Random random = new Random(42);
+        byte[] noise = new byte[3 * 1024 * 1024];
+        random.nextBytes(noise);
+        Files.write(source.resolve("noise.bin"), noise);
+        Files.write(source.resolve("empty.txt"), new byte[0]);
+        Files.write(nested.resolve("text.txt"), String.join("", Collections.nCopies(5000, "helper "))
+                .getBytes(StandardCharsets.UTF_8));
+        for (int i = 0; i < 50; i++) {
+            Files.write(source.resolve("nested").resolve("file" + i + ".txt"),
+                    ("content " + i).getBytes(StandardCharsets.UTF_8));
+        }
+
+        String output = folder.getRoot().getPath() + File.separator;
+        Compressor.zipCompress(source.toString(), output + "sequential");
+        Compressor.zipCompress(source.toString(), output + "deflated", 4, false);
+        Compressor.zipCompress(source.toString(), output + "stored.zip", 0, true);
+
+        Map<String, byte[]> expected = read(new File(output + "sequential.zip"));
+        assertEquals(53, expected.size());
+        assertEntries(expected, new File(output + "deflated.zip"), ZipEntry.DEFLATED);
+        assertEntries(expected, new File(output + "stored.zip"), ZipEntry.STORED);
+    }
+
+    private static void assertEntries(Map<String, byte[]> expected, File zip, int method) throws IOException {
+        Map<String, byte[]> actual = read(zip);
+        assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(actual.keySet()));
+        for (Map.Entry<String, byte[]> entry : expected.entrySet()) {
+            assertArrayEquals(entry.getKey(), entry.getValue(), actual.get(entry.getKey()));
+        }
+        // 中央目录与本地文件头一致
+        try (ZipFile zipFile = new ZipFile(zip)) {
+            List<String> names = new ArrayList<>();
+            for (ZipEntry entry : Collections.list(zipFile.entries())) {
+                names.add(entry.getName());
+                assertEquals(method, entry.getMethod());
+                assertArrayEquals(expected.get(entry.getName()), ByteStreams.toByteArray(zipFile.getInputStream(entry)));
+            }
+            assertEquals(new ArrayList<>(expected.keySet()), names);
+        }
+    }
+
+    /**
+     * 通过 ZipInputStream 顺序读取，读取时会校验每个条目的 CRC 和大小。
+     */
+    private static Map<String, byte[]> read(File zip) throws IOException {
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        try (ZipInputStream in = new ZipInputStream(new FileInputStream(zip))) {
+            ZipEntry entry;
+            while ((entry = in.getNextEntry()) != null) {
+                entries.put(entry.getName(), ByteStreams.toByteArray(in));
+            }
+        }
+        return entries;
+    }
+}
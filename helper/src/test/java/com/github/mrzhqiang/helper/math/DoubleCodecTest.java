@@ -0,0 +1,124 @@
+package com.github.mrzhqiang.helper.math;
+
+import com.github.mrzhqiang.helper.uppc.UppcHelper;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.Assert.*;
+
+public class DoubleCodecTest {
+
+    @Test
+    public void shortest() {
+        assertEquals("0.0", DoubleCodec.toString(0.0));
+        assertEquals("-0.0", DoubleCodec.toString(-0.0));
+        assertEquals("NaN", DoubleCodec.toString(Double.NaN));
+        assertEquals("-Infinity", DoubleCodec.toString(Double.NEGATIVE_INFINITY));
+        assertEquals("0.1", DoubleCodec.toString(0.1));
+        assertEquals("0.001", DoubleCodec.toString(0.001));
+        assertEquals("1.0E-4", DoubleCodec.toString(0.0001));
+        assertEquals("1234567.0", DoubleCodec.toString(1234567.0));
+        assertEquals("1.0E7", DoubleCodec.toString(1e7));
+        assertEquals("-1.25E10", DoubleCodec.toString(-1.25e10));
+        assertEquals("4.9E-324", DoubleCodec.toString(Double.MIN_VALUE));
+        assertEquals("1.7976931348623157E308", DoubleCodec.toString(Double.MAX_VALUE));
+        // Java 8 的 Double.toString 输出 2.0000000000000004E16
+        assertEquals("2.0E16", DoubleCodec.toString(2.0E16));
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < 100_000; i++) {
+            double value = i % 2 == 0
+                    ? Double.longBitsToDouble(random.nextLong())
+                    : random.nextDouble(-1e6, 1e6);
+            if (Double.isNaN(value)) {
+                continue;
+            }
+            String text = DoubleCodec.toString(value);
+            assertEquals(text, value, Double.parseDouble(text), 0);
+            String expected = Double.toString(value);
+            assertTrue(text + " vs " + expected, text.length() <= expected.length());
+        }
+    }
+
+    @Test
+    public void fixed() {
+        DecimalFormat format = new DecimalFormat("###0.000000000", DecimalFormatSymbols.getInstance(Locale.US));
+        assertEquals("0.000000000", DoubleCodec.toFixed(0.0, 9));
+        assertEquals("-0.000000000", DoubleCodec.toFixed(-1e-12, 9));
+        assertEquals("116.397128000", DoubleCodec.toFixed(116.397128, 9));
+        assertEquals("2", DoubleCodec.toFixed(2.5, 0));
+        assertEquals("4", DoubleCodec.toFixed(3.5, 0));
+        assertEquals("0.12", DoubleCodec.toFixed(0.125, 2));
+        assertEquals("100000000000000000000000.000", DoubleCodec.toFixed(1e23, 3));
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < 100_000; i++) {
+            double value;
+            switch (i % 4) {
+                case 0:
+                    value = random.nextDouble(-180, 180);
+                    break;
+                case 1:
+                    // 刚好处于舍入中点的数值
+                    value = random.nextInt(-1_000_000, 1_000_000) / 1024.0;
+                    break;
+                case 2:
+                    value = random.nextInt() / 1e10;
+                    break;
+                default:
+                    value = random.nextDouble() * Math.pow(10, random.nextInt(-12, 12));
+            }
+            assertEquals(Double.toString(value), format.format(value), DoubleCodec.toFixed(value, 9));
+            assertEquals(format.format(value), UppcHelper.doubleFormat9(value));
+        }
+    }
+
+    @Test
+    public void parse() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < 100_000; i++) {
+            double value = Double.longBitsToDouble(random.nextLong());
+            if (Double.isNaN(value)) {
+                continue;
+            }
+            String text = Double.toString(value);
+            assertEquals(text, value, DoubleCodec.parse(text, 0, text.length(), Double.NaN), 0);
+
+            // 随机的十进制数字，覆盖 Clinger 之外的 Eisel-Lemire 路径
+            StringBuilder builder = new StringBuilder();
+            int digits = random.nextInt(1, 20);
+            for (int j = 0; j < digits; j++) {
+                builder.append((char) ('0' + random.nextInt(10)));
+            }
+            builder.append('e').append(random.nextInt(-330, 310));
+            String decimal = builder.toString();
+            assertEquals(decimal, Double.parseDouble(decimal), DoubleCodec.parse(decimal, 0, decimal.length(), -1), 0);
+        }
+        assertEquals(9007199254740993.0, DoubleCodec.parse("9007199254740993", 0, 16, 0), 0);
+        assertEquals(-1.0, DoubleCodec.parse("1.5x", 0, 4, -1), 0);
+    }
+
+    @Test
+    public void ranges() {
+        char[] chars = new char[30];
+        chars[0] = '[';
+        int length = DoubleCodec.format(-0.125, chars, 1);
+        assertEquals("[-0.125", new String(chars, 0, length + 1));
+
+        byte[] bytes = new byte[30];
+        length = DoubleCodec.formatFixed(39.9042, 6, bytes, 2);
+        assertEquals("39.904200", new String(bytes, 2, length, StandardCharsets.US_ASCII));
+        assertEquals(39.9042, DoubleCodec.parse(bytes, 2, length, 0), 0);
+        assertEquals(-0.125, DoubleCodec.parse(chars, 1, 6, 0), 0);
+
+        StringBuilder builder = new StringBuilder("lat=");
+        DoubleCodec.appendFixed(builder, 39.9042, 3).append(",lon=");
+        DoubleCodec.append(builder, 116.4074);
+        assertEquals("lat=39.904,lon=116.4074", builder.toString());
+    }
+}
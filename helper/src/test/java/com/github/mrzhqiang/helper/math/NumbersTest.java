@@ -3,8 +3,14 @@ package com.github.mrzhqiang.helper.math;
 import org.junit.Test;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.concurrent.ThreadLocalRandom;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 
 public class NumbersTest {
 
@@ -365,4 +371,121 @@ public class NumbersTest {
         assertEquals(12345, Numbers.ofShort("12345", (short) 5), 0);
         assertEquals(5, Numbers.ofShort("1234.5", (short) 5), 0);
     }
-}
\ No newline at end of file
+
+    /**
+     * Test for {@link Numbers#ofInt(CharSequence, int, int, int)} and its array overloads.
+     */
+    @Test
+    public void testRanges() {
+        String line = "id,-2147483648,9223372036854775807,3.25,x";
+        char[] chars = line.toCharArray();
+        byte[] bytes = line.getBytes(StandardCharsets.US_ASCII);
+
+        assertEquals(Integer.MIN_VALUE, Numbers.ofInt(line, 3, 11, 0));
+        assertEquals(Integer.MIN_VALUE, Numbers.ofInt(chars, 3, 11, 0));
+        assertEquals(Integer.MIN_VALUE, Numbers.ofInt(bytes, 3, 11, 0));
+        assertEquals(Long.MAX_VALUE, Numbers.ofLong(line, 15, 19, 0L));
+        assertEquals(Long.MAX_VALUE, Numbers.ofLong(bytes, 15, 19, 0L));
+        assertEquals(3.25d, Numbers.ofDouble(line, 35, 4, 0.0d), 0);
+        assertEquals(3.25d, Numbers.ofDouble(chars, 35, 4, 0.0d), 0);
+        assertEquals(3.25d, Numbers.ofDouble(bytes, 35, 4, 0.0d), 0);
+
+        // int 溢出以及无效内容返回默认值
+        assertEquals(-1, Numbers.ofInt(line, 15, 19, -1));
+        assertEquals(-1, Numbers.ofInt(bytes, 40, 1, -1));
+        assertEquals(-1L, Numbers.ofLong(line, 0, 0, -1L));
+        assertEquals(-1.0d, Numbers.ofDouble(bytes, 40, 1, -1.0d), 0);
+
+        // 十六进制以及超过 19 位有效数字的浮点数交给 JDK 解析
+        String slow = "[0x1.8p1,1.00000000000000000001]";
+        char[] slowChars = slow.toCharArray();
+        byte[] slowBytes = slow.getBytes(StandardCharsets.US_ASCII);
+        assertEquals(3.0d, Numbers.ofDouble(slowChars, 1, 7, 0.0d), 0);
+        assertEquals(3.0d, Numbers.ofDouble(slowBytes, 1, 7, 0.0d), 0);
+        assertEquals(1.0d, Numbers.ofDouble(slowChars, 9, 22, 0.0d), 0);
+        assertEquals(1.0d, Numbers.ofDouble(slowBytes, 9, 22, 0.0d), 0);
+    }
+
+    /**
+     * Test for {@link Numbers#parseInt(CharSequence)} and the other optional results.
+     */
+    @Test
+    public void testOptional() {
+        assertEquals(OptionalInt.of(0), Numbers.parseInt("0"));
+        assertEquals(OptionalInt.of(1), Numbers.parseInt("1"));
+        assertEquals(OptionalInt.empty(), Numbers.parseInt("1a"));
+        assertEquals(OptionalInt.empty(), Numbers.parseInt(null));
+        assertEquals(OptionalLong.of(0L), Numbers.parseLong("-0"));
+        assertEquals(OptionalLong.empty(), Numbers.parseLong("9223372036854775808"));
+        assertEquals(OptionalDouble.of(0.0d), Numbers.parseDouble("0.0"));
+        assertEquals(OptionalDouble.of(1.0d), Numbers.parseDouble("1"));
+        assertEquals(OptionalDouble.empty(), Numbers.parseDouble("1.0.0"));
+        assertNull(Numbers.ofBigDecimal("1e"));
+        assertNull(Numbers.ofBigDecimal("1e99999999999"));
+        assertEquals(new BigDecimal("-1.5E+3"), Numbers.ofBigDecimal("-1.5E+3"));
+    }
+
+    /**
+     * 与 JDK 解析器的结果保持一致。
+     */
+    @Test
+    public void testAgreesWithJdk() {
+        String[] samples = {
+                "0", "-0", "+0", "00012", "-", "+", "1-", "2147483647", "2147483648", "-2147483649",
+                "9223372036854775807", "-9223372036854775808", "9223372036854775808", "\uff11\uff12",
+                "1.5", ".5", "5.", ".", "1e10", "1E-5", "1e", "1e+", "-1.5e-3f", "2.5D", " 3.5 ", "NaN",
+                "-Infinity", "Infinity1", "0x1.8p1", "0x", "1.7976931348623157e308", "4.9e-324", "1e400",
+                "123456789012345678901234567890", "0.1234567890123456789", "1_000", "1,5", "",
+        };
+        for (String sample : samples) {
+            assertAgrees(sample);
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < 100_000; i++) {
+            assertAgrees(Long.toString(random.nextLong()));
+            assertAgrees(Integer.toString(random.nextInt()));
+            assertAgrees(Double.toString(random.nextDouble() * Math.pow(10, random.nextInt(-30, 30))));
+            assertAgrees(String.format("%.6f", random.nextDouble(-1e6, 1e6)));
+            assertAgrees(Float.toString(random.nextFloat()));
+        }
+    }
+
+    private static void assertAgrees(String sample) {
+        Integer expectedInt = null;
+        Long expectedLong = null;
+        Double expectedDouble = null;
+        Float expectedFloat = null;
+        try {
+            expectedInt = Integer.parseInt(sample);
+        } catch (NumberFormatException ignored) {
+        }
+        try {
+            expectedLong = Long.parseLong(sample);
+        } catch (NumberFormatException ignored) {
+        }
+        try {
+            expectedDouble = Double.parseDouble(sample);
+        } catch (NumberFormatException ignored) {
+        }
+        try {
+            expectedFloat = Float.parseFloat(sample);
+        } catch (NumberFormatException ignored) {
+        }
+        assertEquals(sample, expectedInt, boxed(Numbers.parseInt(sample)));
+        assertEquals(sample, expectedLong, boxed(Numbers.parseLong(sample)));
+        assertEquals(sample, expectedDouble, boxed(Numbers.parseDouble(sample)));
+        assertEquals(sample, expectedFloat, expectedFloat == null ? null : Numbers.ofFloat(sample, Float.NaN));
+    }
+
+    private static Integer boxed(OptionalInt value) {
+        return value.isPresent() ? value.getAsInt() : null;
+    }
+
+    private static Long boxed(OptionalLong value) {
+        return value.isPresent() ? value.getAsLong() : null;
+    }
+
+    private static Double boxed(OptionalDouble value) {
+        return value.isPresent() ? value.getAsDouble() : null;
+    }
+}
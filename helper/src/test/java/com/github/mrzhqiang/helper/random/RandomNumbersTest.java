@@ -0,0 +1,70 @@
+package com.github.mrzhqiang.helper.random;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class RandomNumbersTest {
+
+    @Test
+    public void fillInt() {
+        int[] values = new int[100_000];
+        RandomNumbers.fill(values, 10);
+        int[] counts = new int[10];
+        for (int value : values) {
+            assertTrue(value >= 0 && value < 10);
+            counts[value]++;
+        }
+        for (int count : counts) {
+            assertTrue(Math.abs(count - 10_000) < 1_000);
+        }
+
+        RandomNumbers.fill(values, -5, 5);
+        for (int value : values) {
+            assertTrue(value >= -5 && value <= 5);
+        }
+
+        // 整个 int 范围
+        RandomNumbers.fill(values, Integer.MIN_VALUE, Integer.MAX_VALUE);
+        boolean negative = false;
+        for (int value : values) {
+            negative |= value < 0;
+        }
+        assertTrue(negative);
+    }
+
+    @Test
+    public void fillLong() {
+        long[] values = new long[100_000];
+        long bound = 3_000_000_000_000L;
+        RandomNumbers.fill(values, bound);
+        long sum = 0;
+        for (long value : values) {
+            assertTrue(value >= 0 && value < bound);
+            sum += value / values.length;
+        }
+        // 均值接近 bound / 2
+        assertTrue(Math.abs(sum - bound / 2) < bound / 50);
+
+        RandomNumbers.fill(values, Long.MAX_VALUE - 10, Long.MAX_VALUE);
+        for (long value : values) {
+            assertTrue(value >= Long.MAX_VALUE - 10);
+        }
+
+        RandomNumbers.fill(values, Long.MIN_VALUE, Long.MAX_VALUE);
+        boolean negative = false;
+        for (long value : values) {
+            negative |= value < 0;
+        }
+        assertTrue(negative);
+    }
+
+    @Test
+    public void fillDouble() {
+        double[] values = new double[10_000];
+        RandomNumbers.fill(values, -1.5, 2.5);
+        for (double value : values) {
+            assertTrue(value >= -1.5 && value < 2.5);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.github.mrzhqiang.helper.random;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class SecureTokensTest {
+
+    @Test
+    public void ofToken() {
+        Set<String> tokens = new HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            String token = SecureTokens.ofToken(32);
+            assertEquals(32, token.length());
+            for (char c : token.toCharArray()) {
+                assertTrue(SecureTokens.TOKEN.indexOf(c) >= 0);
+            }
+            assertTrue(tokens.add(token));
+        }
+    }
+
+    @Test
+    public void uniform() {
+        // 10 个数字需要拒绝 250 以上的字节，每个数字出现的次数应当接近平均值
+        int[] counts = new int[10];
+        String number = SecureTokens.ofNumber(100_000);
+        for (char c : number.toCharArray()) {
+            counts[c - '0']++;
+        }
+        for (int count : counts) {
+            assertTrue(Math.abs(count - 10_000) < 1_000);
+        }
+    }
+
+    @Test
+    public void nextInt() {
+        for (int i = 0; i < 10_000; i++) {
+            int small = SecureTokens.nextInt(3);
+            assertTrue(small >= 0 && small < 3);
+            int large = SecureTokens.nextInt(1_000_003);
+            assertTrue(large >= 0 && large < 1_000_003);
+            float f = SecureTokens.nextFloat();
+            assertTrue(f >= 0 && f < 1);
+        }
+    }
+
+    @Test
+    public void nextBytes() {
+        // 超过缓冲区大小时跨越多次填充
+        byte[] bytes = new byte[5000];
+        SecureTokens.nextBytes(bytes);
+        int zeros = 0;
+        for (byte b : bytes) {
+            if (b == 0) {
+                zeros++;
+            }
+        }
+        assertTrue(zeros < 100);
+    }
+}
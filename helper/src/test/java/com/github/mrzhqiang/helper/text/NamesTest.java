@@ -2,6 +2,10 @@ package com.github.mrzhqiang.helper.text;
 
 import org.junit.Test;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
 import static org.junit.Assert.*;
 
 /**
@@ -46,4 +50,40 @@ public final class NamesTest {
     public void checkChineseAndLength() {
         assertFalse(Names.checkChinese("中华人民共和国", 1, 4));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void initial() {
+        assertEquals('Z', Names.initial("张三"));
+        assertEquals('L', Names.initial("  李四"));
+        assertEquals('W', Names.initial("王五"));
+        assertEquals('M', Names.initial("mrzhqiang"));
+        assertEquals(Names.OTHER_INITIAL, Names.initial("1号"));
+        assertEquals(Names.OTHER_INITIAL, Names.initial(""));
+    }
+
+    @Test
+    public void initialOfSurname() {
+        // 多音字按照姓氏的读音
+        assertEquals('S', Names.initial("沈括"));
+        assertEquals('Z', Names.initial("曾国藩"));
+        assertEquals('Q', Names.initial("仇英"));
+        assertEquals('Z', Names.initial("翟志刚"));
+        assertEquals('S', Names.initial("单雄信"));
+        assertEquals('Z', Names.initial("查良镛"));
+        assertEquals('X', Names.initial("解缙"));
+        assertEquals('Q', Names.initial("覃振"));
+        assertEquals('O', Names.initial("区伯"));
+        assertEquals('K', Names.initial("阚泽"));
+    }
+
+    @Test
+    public void groupByInitial() {
+        List<String> names = Arrays.asList("王五", "张三", "bob", "李四", "Alice", "张伞", "007", "alex", "王二");
+        Map<Character, List<String>> groups = Names.groupByInitial(names);
+        assertEquals(Arrays.asList('A', 'B', 'L', 'W', 'Z', Names.OTHER_INITIAL), Arrays.asList(groups.keySet().toArray()));
+        assertEquals(Arrays.asList("alex", "Alice"), groups.get('A'));
+        assertEquals(Arrays.asList("王二", "王五"), groups.get('W'));
+        assertEquals(Arrays.asList("张三", "张伞"), groups.get('Z'));
+        assertEquals(Arrays.asList("007"), groups.get(Names.OTHER_INITIAL));
+    }
+}
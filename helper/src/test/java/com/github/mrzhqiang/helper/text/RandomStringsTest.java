@@ -6,7 +6,10 @@ import com.typesafe.config.ConfigFactory;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
@@ -99,4 +102,68 @@ public final class RandomStringsTest {
         assertTrue(s.length() >= 5 && s.length() < 10);
         System.out.println(s);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void fillChars() {
+        char[] dest = new char[12];
+        Arrays.fill(dest, '#');
+        RandomStrings.ofNumber(dest, 2, 8);
+        assertEquals('#', dest[1]);
+        assertEquals('#', dest[10]);
+        // 第一个数字不为 0
+        assertTrue(dest[2] >= '1' && dest[2] <= '9');
+        for (int i = 2; i < 10; i++) {
+            assertTrue(RandomStrings.NUMBER.indexOf(dest[i]) >= 0);
+        }
+
+        RandomStrings.ofLowerCase(dest, 0, dest.length);
+        for (char c : dest) {
+            assertTrue(RandomStrings.LOWER_CASE.indexOf(c) >= 0);
+        }
+
+        List<String> normal = chinese.getStringList("normal");
+        RandomStrings.ofChinese(dest, 0, dest.length);
+        for (char c : dest) {
+            assertTrue(normal.contains(String.format("0x%04x", (int) c)));
+        }
+
+        RandomStrings.ofCustom("ab", dest, 0, dest.length);
+        for (char c : dest) {
+            assertTrue(c == 'a' || c == 'b');
+        }
+    }
+
+    @Test
+    public void uniform() {
+        // 68 个字符需要 7 位切片，超出部分被拒绝，每个字符出现的次数应当接近平均值
+        String chars = RandomStrings.CHARS;
+        int[] counts = new int[chars.length()];
+        int total = chars.length() * 10_000;
+        char[] dest = new char[total];
+        RandomStrings.ofLength(dest, 0, total);
+        for (char c : dest) {
+            counts[chars.indexOf(c)]++;
+        }
+        for (int count : counts) {
+            assertTrue(Math.abs(count - 10_000) < 1_000);
+        }
+    }
+
+    @Test
+    public void stream() {
+        List<String> parallel = RandomStrings.stream(RandomStrings.Kind.NUMBER, 8, 10_000, 42L)
+                .collect(Collectors.toList());
+        List<String> sequential = RandomStrings.stream(RandomStrings.Kind.NUMBER, 8, 10_000, 42L)
+                .sequential()
+                .collect(Collectors.toList());
+        // 同样的种子，无论是否并行，结果都相同
+        assertEquals(sequential, parallel);
+        for (String s : parallel) {
+            assertEquals(8, s.length());
+            assertTrue(s.charAt(0) != '0');
+        }
+        assertTrue(new HashSet<>(parallel).size() > 9_900);
+
+        assertEquals(100, RandomStrings.stream(RandomStrings.Kind.CHINESE, 2, 100).count());
+    }
+}
@@ -0,0 +1,63 @@
+package com.github.mrzhqiang.helper.text;
+
+import org.junit.Test;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import static org.junit.Assert.*;
+
+public class ValidatorsTest {
+
+    @Test
+    public void charClass() {
+        assertNotNull(Validators.charClass("[\\u4E00-\\u9FA5]+"));
+        assertNotNull(Validators.charClass("[a-zA-Z0-9_\\-]*"));
+        assertNotNull(Validators.charClass("[-a.]+"));
+        assertNull(Validators.charClass("[^a-z]+"));
+        assertNull(Validators.charClass("[\\w]+"));
+        assertNull(Validators.charClass("[a-z]{2,4}"));
+        assertNull(Validators.charClass("\\d+"));
+
+        assertSame(Validators.of("[a-z]+"), Validators.of("[a-z]+"));
+    }
+
+    @Test
+    public void agreesWithPattern() {
+        String[] regexes = {
+                "[\\u4E00-\\u9FA5]+", "[a-zA-Z0-9_\\-]*", "[-a.]+", "[a-c]+", "[^a-z]+", "[\\d]+", "a|b+",
+        };
+        String alphabet = "abcz09_-.中华龦 ";
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < 5_000; i++) {
+            StringBuilder builder = new StringBuilder();
+            int length = random.nextInt(6);
+            for (int j = 0; j < length; j++) {
+                builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            String value = builder.toString();
+            for (String regex : regexes) {
+                assertEquals(regex + " " + value, Pattern.matches(regex, value), Validators.matches(regex, value));
+            }
+        }
+        assertFalse(Validators.matches("[a-z]+", null));
+    }
+
+    @Test
+    public void checkString() {
+        assertTrue(Names.checkChinese("中华人民共和国"));
+        assertFalse(Names.checkChinese("中华a"));
+        assertTrue(Names.checkString("[a-z]+", "abc", 1, 3));
+        assertFalse(Names.checkString("[a-z]+", "abcd", 1, 3));
+        assertFalse(Names.checkString("[a-z]*", "", 0, 0));
+        // 长度检测在编译正则表达式之前，无效的表达式遇到空值时直接返回 false
+        assertFalse(Names.checkString("[a-z", null, 0, 0));
+        assertFalse(Names.checkString("[a-z", "abcd", 1, 3));
+    }
+
+    @Test(expected = PatternSyntaxException.class)
+    public void invalidRegex() {
+        Validators.of("[a-z");
+    }
+}
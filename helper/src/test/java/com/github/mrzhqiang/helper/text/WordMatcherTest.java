@@ -0,0 +1,87 @@
+package com.github.mrzhqiang.helper.text;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.Assert.*;
+
+public class WordMatcherTest {
+
+    @Test
+    public void normalize() {
+        WordMatcher matcher = WordMatcher.of("abc", "ＱＱ", "坏人", "a.b");
+        assertEquals(4, matcher.size());
+        assertTrue(matcher.contains("xxABCxx"));
+        assertTrue(matcher.contains("ｘｘａｂｃ"));
+        assertTrue(matcher.contains("加我qq"));
+        assertTrue(matcher.contains("A。B"));
+        assertFalse(matcher.contains("好人"));
+
+        WordMatcher.Hit hit = matcher.findFirst("你是坏人吗");
+        assertNotNull(hit);
+        assertEquals(2, hit.start());
+        assertEquals(4, hit.end());
+        assertEquals("坏人", hit.word());
+        assertNull(matcher.findFirst("你是好人吗"));
+    }
+
+    @Test
+    public void mask() {
+        WordMatcher matcher = WordMatcher.of("he", "she", "his", "hers");
+        assertEquals("u*****", matcher.mask("ushers"));
+        assertEquals("a***b", matcher.mask("aHISb"));
+        assertEquals("nothing", matcher.mask("nothing"));
+        assertEquals("#####", matcher.mask("hishe", '#'));
+        assertEquals("", WordMatcher.of().mask(""));
+    }
+
+    @Test
+    public void agreesWithBruteForce() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String alphabet = "abAB中文";
+        for (int round = 0; round < 200; round++) {
+            Set<String> words = new LinkedHashSet<>();
+            for (int i = random.nextInt(1, 20); i > 0; i--) {
+                words.add(randomText(random, alphabet, random.nextInt(1, 5)).toLowerCase());
+            }
+            WordMatcher matcher = WordMatcher.of(words);
+            for (int t = 0; t < 20; t++) {
+                String text = randomText(random, alphabet, random.nextInt(30));
+                String lower = text.toLowerCase();
+
+                List<String> expected = new ArrayList<>();
+                char[] masked = text.toCharArray();
+                for (int end = 1; end <= lower.length(); end++) {
+                    for (int start = 0; start < end; start++) {
+                        String word = lower.substring(start, end);
+                        if (words.contains(word)) {
+                            expected.add(word + "[" + start + ", " + end + ")");
+                            Arrays.fill(masked, start, end, '*');
+                        }
+                    }
+                }
+                List<String> actual = new ArrayList<>();
+                for (WordMatcher.Hit hit : matcher.findAll(text)) {
+                    actual.add(hit.toString());
+                }
+                assertEquals(text, expected, actual);
+                assertEquals(text, new String(masked), matcher.mask(text));
+                assertEquals(text, !expected.isEmpty(), matcher.contains(text));
+            }
+        }
+    }
+
+    private static String randomText(ThreadLocalRandom random, String alphabet, int length) {
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return builder.toString();
+    }
+}
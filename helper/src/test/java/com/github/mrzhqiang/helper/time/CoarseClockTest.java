@@ -0,0 +1,48 @@
+package com.github.mrzhqiang.helper.time;
+
+import org.junit.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+
+import static org.junit.Assert.*;
+
+public class CoarseClockTest {
+
+    @Test
+    public void currentTimeMillis() {
+        long before = System.currentTimeMillis();
+        long coarse = CoarseClock.currentTimeMillis();
+        // 最多落后一个刷新间隔，这里放宽到 1 秒避免测试环境调度抖动
+        assertTrue(Math.abs(coarse - before) < 1000);
+    }
+
+    @Test
+    public void cachedStrings() {
+        LocalDateTime dateTime = CoarseClock.localDateTime();
+        assertEquals(0, dateTime.getNano());
+        String basicDateTime = CoarseClock.basicDateTime();
+        assertEquals(14, basicDateTime.length());
+        assertTrue(basicDateTime.startsWith(CoarseClock.basicDate()));
+
+        LocalDateTime parsed = LocalDateTime.parse(basicDateTime, DateTimeFormatter.ofPattern("yyyyMMddHHmmss"));
+        assertTrue(Math.abs(Duration.between(parsed, LocalDateTime.now()).getSeconds()) <= 2);
+
+        Date httpDate = Dates.parseHTTP(CoarseClock.httpDate());
+        assertNotNull(httpDate);
+        long expected = parsed.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        long actual = httpDate.getTime();
+        // 两次读取之间可能跨越一秒
+        assertTrue(Math.abs(actual - expected) <= 1000);
+    }
+
+    @Test
+    public void tick() throws Exception {
+        String first = CoarseClock.basicDateTime();
+        Thread.sleep(1100);
+        assertNotEquals(first, CoarseClock.basicDateTime());
+    }
+}
@@ -0,0 +1,95 @@
+package com.github.mrzhqiang.helper.time;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.Assert.*;
+
+public class DateLayoutTest {
+
+    private static final String PATTERN = "yyyy-MM-dd HH:mm:ss";
+
+    @Test
+    public void supported() {
+        assertTrue(DateLayout.isSupported(PATTERN));
+        assertTrue(DateLayout.isSupported("yyyy-MM-dd"));
+        assertTrue(DateLayout.isSupported("HH:mm:ss"));
+        assertTrue(DateLayout.isSupported("yyyyMMddHHmmssSSS"));
+        assertFalse(DateLayout.isSupported("yy-M-d"));
+        assertFalse(DateLayout.isSupported("EEE, dd MMM yyyy"));
+        assertFalse(DateLayout.isSupported("yyyy-MM-dd'T'HH:mm"));
+        assertFalse(DateLayout.isSupported("yyyy-yyyy"));
+    }
+
+    @Test
+    public void agreesWithJavaTime() {
+        // 包含夏令时的时区，覆盖偏移窗口的切换
+        for (String id : new String[]{"Asia/Shanghai", "America/New_York", "Europe/London", "UTC"}) {
+            ZoneId zone = ZoneId.of(id);
+            DateLayout layout = DateLayout.of(PATTERN, zone);
+            DateTimeFormatter formatter = DateTimeFormatter.ofPattern(PATTERN).withZone(zone);
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < 20_000; i++) {
+                // 1900 ~ 2100 年之间的任意秒
+                long epochSecond = random.nextLong(-2_208_988_800L, 4_102_444_800L);
+                long millis = epochSecond * 1000;
+                String expected = formatter.format(Instant.ofEpochSecond(epochSecond));
+                assertEquals(expected, layout.format(millis));
+
+                long parsed = layout.parse(expected);
+                long javaTime = LocalDateTime.parse(expected, formatter).atZone(zone).toInstant().toEpochMilli();
+                assertEquals(expected, javaTime, parsed);
+            }
+        }
+    }
+
+    @Test
+    public void overlap() {
+        ZoneId zone = ZoneId.of("America/New_York");
+        DateLayout layout = DateLayout.of(PATTERN, zone);
+        // 2021-11-07 01:30 出现两次，与 java.time 一致取较早的偏移
+        String text = "2021-11-07 01:30:00";
+        // 先让窗口停留在转换之后
+        layout.parse("2021-11-08 01:30:00");
+        long expected = ZonedDateTime.of(2021, 11, 7, 1, 30, 0, 0, zone).toInstant().toEpochMilli();
+        assertEquals(expected, layout.parse(text));
+    }
+
+    @Test
+    public void invalid() {
+        DateLayout layout = DateLayout.of(PATTERN, ZoneId.of("UTC"));
+        assertEquals(DateLayout.INVALID, layout.parse(""));
+        assertEquals(DateLayout.INVALID, layout.parse("2022-08-12 18:14"));
+        assertEquals(DateLayout.INVALID, layout.parse("2022-08-12T18:14:20"));
+        assertEquals(DateLayout.INVALID, layout.parse("2022-13-12 18:14:20"));
+        assertEquals(DateLayout.INVALID, layout.parse("2022-02-29 18:14:20"));
+        assertEquals(DateLayout.INVALID, layout.parse("2022-08-12 24:14:20"));
+        assertEquals(DateLayout.INVALID, layout.parse("2022-08-1a 18:14:20"));
+        assertNotEquals(DateLayout.INVALID, layout.parse("2020-02-29 18:14:20"));
+    }
+
+    @Test
+    public void ranges() {
+        DateLayout layout = DateLayout.of("yyyyMMddHHmmssSSS", ZoneId.of("UTC"));
+        byte[] bytes = "id=20220812181420123;".getBytes(StandardCharsets.US_ASCII);
+        long millis = layout.parse(bytes, 3, 17);
+        assertEquals(ZonedDateTime.of(2022, 8, 12, 18, 14, 20, 123_000_000, ZoneId.of("UTC"))
+                .toInstant().toEpochMilli(), millis);
+        assertEquals(millis, layout.parse("id=20220812181420123;", 3, 17));
+
+        char[] dest = new char[19];
+        assertEquals(17, layout.format(millis, dest, 1));
+        assertEquals("20220812181420123", new String(dest, 1, 17));
+
+        // 时间布局缺少日期字段，默认为 1970-01-01
+        DateLayout time = DateLayout.of("HH:mm:ss", ZoneId.of("UTC"));
+        assertEquals(3_723_000L, time.parse("01:02:03"));
+    }
+}
@@ -16,6 +16,8 @@ import static java.time.format.DateTimeFormatter.RFC_1123_DATE_TIME;
 import static java.time.temporal.ChronoUnit.SECONDS;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
 
 /**
  * @author mrzhqiang
@@ -106,6 +108,44 @@ public final class DatesTest {
         assertEquals(Date.from(instant.truncatedTo(SECONDS)), date);
     }
 
+    @Test
+    public void parseHTTPFormats() {
+        // 2009-06-23 14:05:30 GMT
+        Date expected = new Date(1245765930000L);
+        String[] values = {
+                "Tue, 23 Jun 2009 14:05:30 GMT",
+                "Tuesday, 23-Jun-09 14:05:30 GMT",
+                "Tue Jun 23 14:05:30 2009",
+                "Tue Jun 23 2009 14:05:30 GMT",
+                "Tue, 23-Jun-2009 14:05:30 GMT",
+                "Tue, 23-Jun-2009 14-05-30 GMT",
+                "Tue, 23 Jun 2009 14-05-30 GMT",
+                "Tue, 23-06-2009 14:05:30 GMT",
+                "Tue 23-Jun-09 14:05:30 GMT",
+                "Tue, 23 Jun 09 14:05:30 GMT",
+                "Tue, 23 Jun 2009 22:05:30 +0800",
+                "Tue, 23 Jun 2009 16:05:30 GMT+02:00",
+                "Tue, 23 Jun 2009 10:05:30 EDT",
+                "tue, 23 jun 2009 14:05:30 utc",
+                "Tue, 23 Jun 2009 14:05:30 GMT; trailing",
+        };
+        for (String value : values) {
+            assertEquals(value, expected, Dates.parseHTTP(value));
+            // 第二次命中缓存，每次返回新的实例
+            Date cached = Dates.parseHTTP(value);
+            assertEquals(value, expected, cached);
+            assertNotSame(cached, Dates.parseHTTP(value));
+        }
+    }
+
+    @Test
+    public void parseHTTPInvalid() {
+        assertNull(Dates.parseHTTP(""));
+        assertNull(Dates.parseHTTP("2009-06-23 14:05:30"));
+        assertNull(Dates.parseHTTP("Tue, 23 Jun 2009"));
+        assertNull(Dates.parseHTTP("Tue, 23 Jun 14:05:30 GMT"));
+    }
+
     @Test
     public void between() {
         Assert.assertEquals(until.getString("now"), Dates.untilNow(Date.from(nowInstant)));
@@ -0,0 +1,71 @@
+package com.github.mrzhqiang.helper.time;
+
+import org.junit.Test;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.Assert.*;
+
+public class RelativeTimeRendererTest {
+
+    @Test
+    public void agreesWithHowLong() {
+        Instant baseline = Instant.parse("2022-08-12T18:14:30.500Z");
+        RelativeTimeRenderer renderer = DateTimes.renderer(baseline);
+        assertEquals(baseline, renderer.baseline());
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long now = baseline.toEpochMilli();
+        long[] targets = new long[20_000];
+        for (int i = 0; i < targets.length; i++) {
+            // 前后两年之内，其中一半集中在前后两天之内，覆盖所有的显示规则
+            long range = i % 2 == 0 ? 2 * 86_400_000L : 2 * 366 * 86_400_000L;
+            targets[i] = now + random.nextLong(-range, range);
+        }
+        String[] rendered = renderer.render(targets);
+        for (int i = 0; i < targets.length; i++) {
+            String expected = DateTimes.howLong(baseline, Instant.ofEpochMilli(targets[i]));
+            assertEquals(expected, rendered[i]);
+        }
+    }
+
+    @Test
+    public void boundaries() {
+        Instant baseline = Instant.parse("2022-08-12T18:14:30Z");
+        RelativeTimeRenderer renderer = DateTimes.renderer(baseline);
+        Instant[] targets = {
+                baseline,
+                baseline.minusSeconds(59),
+                baseline.minusSeconds(60),
+                baseline.minus(12, ChronoUnit.HOURS),
+                baseline.truncatedTo(ChronoUnit.DAYS),
+                baseline.truncatedTo(ChronoUnit.DAYS).minusMillis(1),
+                baseline.truncatedTo(ChronoUnit.DAYS).minus(1, ChronoUnit.DAYS),
+                Instant.parse("2022-01-01T00:00:00Z"),
+                Instant.parse("2021-12-31T23:59:59Z"),
+                baseline.plusMillis(1),
+                baseline.plus(3, ChronoUnit.DAYS),
+        };
+        for (Instant target : targets) {
+            assertEquals(target.toString(), DateTimes.howLong(baseline, target),
+                    renderer.render(target.toEpochMilli()));
+        }
+        assertEquals(DateTimes.DEF_JUST_NOW, renderer.render(baseline.toEpochMilli()));
+    }
+
+    @Test
+    public void range() {
+        Instant baseline = Instant.parse("2022-08-12T18:14:30Z");
+        RelativeTimeRenderer renderer = DateTimes.renderer(baseline);
+        long now = baseline.toEpochMilli();
+        long[] source = {0L, now - 30_000L, now - 90_000L, 0L};
+        String[] dest = new String[4];
+        renderer.render(source, 1, dest, 2, 2);
+        assertNull(dest[0]);
+        assertNull(dest[1]);
+        assertEquals(DateTimes.DEF_JUST_NOW, dest[2]);
+        assertEquals("1 分钟前", dest[3]);
+    }
+}